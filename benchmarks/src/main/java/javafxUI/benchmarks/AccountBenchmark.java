@@ -0,0 +1,56 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a single account line, which every listing does once per account.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBenchmark {
+
+    /**
+     * 0 for Checking, 1 for College Checking, 2 for Savings, 3 for Money Market.
+     */
+    @Param({"0", "1", "2", "3"})
+    public int kind;
+
+    private Account account;
+
+    /**
+     * Creates the account once per trial.
+     */
+    @Setup
+    public void setUp()
+    {
+        account = AccountFixtures.create(1234, kind);
+    }
+
+    /**
+     * Renders the account the way every listing does.
+     * @return the account line
+     */
+    @Benchmark
+    public String accountToString()
+    {
+        return account.toString();
+    }
+}
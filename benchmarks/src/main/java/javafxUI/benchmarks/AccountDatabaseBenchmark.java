@@ -0,0 +1,80 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.AccountStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-transaction teller operations against a loaded AccountDatabase: lookup, deposit,
+ * withdraw, a customer's combined balance and reading the statistics, parameterized by database size and account type mix through LoadedDatabase.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class AccountDatabaseBenchmark {
+
+    /**
+     * Looks up an existing account, the way the teller checks an account before every operation.
+     * @param state - the loaded database
+     * @return the account found
+     */
+    @Benchmark
+    public Account find(LoadedDatabase state)
+    {
+        return state.database.getAccountIfExists(state.nextProbe());
+    }
+
+    /**
+     * Deposits a cent into an existing account.
+     * @param state - the loaded database
+     */
+    @Benchmark
+    public void deposit(LoadedDatabase state)
+    {
+        state.database.deposit(state.nextProbe());
+    }
+
+    /**
+     * Withdraws a cent from an existing account, including the sufficient funds check.
+     * @param state - the loaded database
+     * @return true if the withdrawal went through
+     */
+    @Benchmark
+    public boolean withdraw(LoadedDatabase state)
+    {
+        return state.database.withdraw(state.nextProbe());
+    }
+
+    /**
+     * Adds up the balances of a customer's accounts, found through the holder index.
+     * @param state - the loaded database
+     * @return the combined balance in cents
+     */
+    @Benchmark
+    public long combinedBalance(LoadedDatabase state)
+    {
+        return state.database.getCombinedBalanceCents(state.nextProbe().getHolder());
+    }
+
+    /**
+     * Reads the totals of the database, which are kept up to date by every change instead of being counted.
+     * @param state - the loaded database
+     * @return the totals
+     */
+    @Benchmark
+    public AccountStatistics statistics(LoadedDatabase state)
+    {
+        return state.database.statistics();
+    }
+}
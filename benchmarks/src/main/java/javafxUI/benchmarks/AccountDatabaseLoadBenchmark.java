@@ -0,0 +1,80 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.AccountDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures AccountDatabase.open by loading a whole branch into an empty database. With a doubling
+ * array and a tail pointer the load time should grow linearly with the number of accounts, whether
+ * or not the database is pre-sized.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class AccountDatabaseLoadBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({AccountFixtures.ALL_TYPES, AccountFixtures.CHECKING_ONLY, AccountFixtures.SAVINGS_ONLY,
+            AccountFixtures.MULTI_ACCOUNT})
+    public String mix;
+
+    private Account[] accounts;
+
+    /**
+     * Creates the accounts once per trial so only the load is measured.
+     */
+    @Setup
+    public void setUp()
+    {
+        accounts = AccountFixtures.build(size, mix);
+    }
+
+    /**
+     * Opens every account into a database that starts at the default capacity.
+     * @return the loaded database
+     */
+    @Benchmark
+    public AccountDatabase loadGrowing()
+    {
+        AccountDatabase database = new AccountDatabase();
+        for(Account account : accounts)
+        {
+            database.open(account);
+        }
+        return database;
+    }
+
+    /**
+     * Opens every account into a database pre-sized for the whole load.
+     * @return the loaded database
+     */
+    @Benchmark
+    public AccountDatabase loadPreSized()
+    {
+        AccountDatabase database = new AccountDatabase(accounts.length);
+        for(Account account : accounts)
+        {
+            database.open(account);
+        }
+        return database;
+    }
+}
@@ -0,0 +1,167 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.Checking;
+import javafxUI.College;
+import javafxUI.CollegeChecking;
+import javafxUI.Date;
+import javafxUI.MoneyMarket;
+import javafxUI.Savings;
+
+/**
+ * AccountFixtures builds the accounts the benchmarks load into an AccountDatabase. Under every mix but
+ * MULTI_ACCOUNT each holder is distinct; under MULTI_ACCOUNT each holder has a Checking, a Savings and a
+ * Money Market account, the way a customer with several accounts is stored. Each generated account still
+ * occupies its own slot and its own index entry.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class AccountFixtures {
+
+    private static final int DAYS_IN_SHORTEST_MONTH = 28;
+    private static final int MONTHS = 12;
+    private static final int YEARS = 60;
+    private static final int FIRST_YEAR = 1950;
+
+    /**
+     * Account type mixes the benchmarks are parameterized over, each one the list of kinds
+     * that holder numbers cycle through.
+     */
+    public static final String ALL_TYPES = "ALL_TYPES";
+    public static final String CHECKING_ONLY = "CHECKING_ONLY";
+    public static final String SAVINGS_ONLY = "SAVINGS_ONLY";
+    public static final String MULTI_ACCOUNT = "MULTI_ACCOUNT";
+    private static final int[] ALL_KINDS = {0, 1, 2, 3};
+    private static final int[] CHECKING_KINDS = {0, 1};
+    private static final int[] SAVINGS_KINDS = {2, 3};
+    private static final int[] MULTI_ACCOUNT_KINDS = {0, 2, 3};
+
+    private AccountFixtures()
+    {
+
+    }
+
+    /**
+     * This function creates accounts cycling through the kinds of the given mix.
+     * @param count - number of accounts to create
+     * @param mix - one of ALL_TYPES, CHECKING_ONLY, SAVINGS_ONLY or MULTI_ACCOUNT
+     * @return an array of new accounts, distinct from each other
+     */
+    public static Account[] build(int count, String mix)
+    {
+        Account[] accounts = new Account[count];
+        for(int i = 0; i < count; i++)
+        {
+            accounts[i] = create(i, kindOf(i, mix), holderOf(i, mix));
+        }
+        return accounts;
+    }
+
+    /**
+     * This function gives the holder number of account number i under the given mix.
+     * @param i - account number
+     * @param mix - one of ALL_TYPES, CHECKING_ONLY, SAVINGS_ONLY or MULTI_ACCOUNT
+     * @return i, or i / 3 under MULTI_ACCOUNT so three accounts in a row share a holder
+     */
+    public static int holderOf(int i, String mix)
+    {
+        return MULTI_ACCOUNT.equals(mix) ? i / MULTI_ACCOUNT_KINDS.length : i;
+    }
+
+    /**
+     * This function gives the kind account number i was created with under the given mix.
+     * @param i - account number
+     * @param mix - one of ALL_TYPES, CHECKING_ONLY, SAVINGS_ONLY or MULTI_ACCOUNT
+     * @return 0 for Checking, 1 for College Checking, 2 for Savings, 3 for Money Market
+     */
+    public static int kindOf(int i, String mix)
+    {
+        int[] kinds = switch (mix)
+        {
+            case CHECKING_ONLY -> CHECKING_KINDS;
+            case SAVINGS_ONLY -> SAVINGS_KINDS;
+            case ALL_TYPES -> ALL_KINDS;
+            case MULTI_ACCOUNT -> MULTI_ACCOUNT_KINDS;
+            default -> throw new IllegalArgumentException("Unknown account mix: " + mix);
+        };
+        return kinds[i % kinds.length];
+    }
+
+    /**
+     * This function creates one account of the given kind for holder number i.
+     * @param i - holder number, used to derive a distinct name and date of birth
+     * @param kind - 0 for Checking, 1 for College Checking, 2 for Savings, 3 for Money Market
+     * @return a new account with its holder and balance set
+     */
+    public static Account create(int i, int kind)
+    {
+        return create(i, kind, i);
+    }
+
+    /**
+     * This function creates one account of the given kind for account number i, held by holder number holder.
+     * @param i - account number, used to derive the balance and campus
+     * @param kind - 0 for Checking, 1 for College Checking, 2 for Savings, 3 for Money Market
+     * @param holder - holder number, used to derive the name and date of birth
+     * @return a new account with its holder and balance set
+     */
+    public static Account create(int i, int kind, int holder)
+    {
+        Account account;
+        switch (kind)
+        {
+            case 0 -> account = new Checking();
+            case 1 -> account = new CollegeChecking(College.values()[i % College.values().length]);
+            case 2 -> {
+                Savings savings = new Savings();
+                savings.setLoyalty(i % 2 == 0);
+                account = savings;
+            }
+            default -> account = new MoneyMarket();
+        }
+        account.setHolder("First" + holder, "Last" + (holder / 7), dob(holder));
+        account.setBalance(MoneyMarket.ExpectedBalance + (i % 5000) * 1.25);
+        return account;
+    }
+
+    /**
+     * This function creates a copy of an account's holder and type carrying a new amount, the same way
+     * the teller builds the account it passes to deposit and withdraw.
+     * @param i - holder number the account was created with
+     * @param kind - kind the account was created with
+     * @param amount - amount carried as the balance of the request
+     * @return a new account equal to the one created with the same holder number and kind
+     */
+    public static Account request(int i, int kind, double amount)
+    {
+        Account account = create(i, kind);
+        account.setBalance(amount);
+        return account;
+    }
+
+    /**
+     * This function creates the request for account number i under the given mix, carrying a new amount.
+     * @param i - account number the account was created with
+     * @param mix - mix the account was created with
+     * @param amount - amount carried as the balance of the request
+     * @return a new account equal to the one built for account number i
+     */
+    public static Account request(int i, String mix, double amount)
+    {
+        Account account = create(i, kindOf(i, mix), holderOf(i, mix));
+        account.setBalance(amount);
+        return account;
+    }
+
+    /**
+     * This function gives a valid date of birth derived from the holder number.
+     * @param i - holder number
+     * @return a Date between 1950 and 2009
+     */
+    public static Date dob(int i)
+    {
+        int day = i % DAYS_IN_SHORTEST_MONTH + 1;
+        int month = (i / DAYS_IN_SHORTEST_MONTH) % MONTHS + 1;
+        int year = FIRST_YEAR + (i / (DAYS_IN_SHORTEST_MONTH * MONTHS)) % YEARS;
+        return new Date(year + "-" + month + "-" + day);
+    }
+}
@@ -0,0 +1,87 @@
+package javafxUI.benchmarks;
+
+import javafxUI.AccountDatabase;
+import javafxUI.BatchImport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running a command file through BatchImport: opening the holders, then a stream of deposits and
+ * withdrawals against them, read from memory so the disk does not count.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BatchImportBenchmark {
+
+    private static final int HOLDERS = 10000;
+
+    @Param({"100000", "1000000"})
+    public int transactions;
+
+    private byte[] commands;
+
+    /**
+     * Builds the command file once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        StringBuilder s = new StringBuilder();
+        for(int i = 0; i < HOLDERS; i++)
+        {
+            s.append("O C First").append(i).append(" Last").append(i).append(' ').append(dob(i)).append(" 1000\n");
+        }
+        for(int j = 0; j < transactions; j++)
+        {
+            int i = (int) ((j * 2654435761L) % HOLDERS);
+            s.append(j % 2 == 0 ? "D" : "W").append(" C First").append(i).append(" Last").append(i).append(' ')
+                    .append(dob(i)).append(" 1.25\n");
+        }
+        commands = s.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This function gives a date of birth for holder number i in the mm/dd/yyyy form.
+     * @param i - holder number
+     * @return String holding the date
+     */
+    private static String dob(int i)
+    {
+        return (i % 12 + 1) + "/" + (i % 28 + 1) + "/" + (1950 + i % 60);
+    }
+
+    /**
+     * Runs every command into a new database, discarding the messages.
+     * @return the number of commands refused
+     * @throws IOException never, the input and output are in memory
+     */
+    @Benchmark
+    public long process() throws IOException
+    {
+        BatchImport batch = new BatchImport(new AccountDatabase(HOLDERS));
+        batch.process(Channels.newChannel(new ByteArrayInputStream(commands)), Writer.nullWriter(), Writer.nullWriter());
+        return batch.getErrorCount();
+    }
+}
@@ -0,0 +1,125 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.ConcurrentAccountDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tellers depositing into and withdrawing from the same few accounts at once, comparing balances
+ * guarded by the holder locks of ConcurrentAccountDatabase with lock-free compare-and-set balances. With one
+ * hot account every thread contends on the same balance, the way a payroll or merchant account is hit.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContendedBalanceBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+    private static final int PROBES = 1 << 10;
+
+    /**
+     * The shared database, loaded once per trial in either mode.
+     */
+    @State(Scope.Group)
+    public static class Bank
+    {
+        public static final String LOCKED = "LOCKED";
+        public static final String LOCK_FREE = "LOCK_FREE";
+
+        @Param({LOCKED, LOCK_FREE})
+        public String mode;
+
+        @Param({"1", "16", "1024"})
+        public int hotAccounts;
+
+        public ConcurrentAccountDatabase database;
+        Account[] requests;
+
+        /**
+         * Loads the database and builds the requests for the hot accounts.
+         */
+        @Setup(Level.Trial)
+        public void setUp()
+        {
+            database = new ConcurrentAccountDatabase(ACCOUNTS, ConcurrentAccountDatabase.DEFAULT_STRIPES,
+                    LOCK_FREE.equals(mode));
+            for(Account account : AccountFixtures.build(ACCOUNTS, AccountFixtures.ALL_TYPES))
+            {
+                database.open(account);
+            }
+            requests = new Account[PROBES];
+            for(int i = 0; i < PROBES; i++)
+            {
+                int holder = (i * 31) % hotAccounts;
+                requests[i] = AccountFixtures.request(holder, AccountFixtures.kindOf(holder, AccountFixtures.ALL_TYPES),
+                        LoadedDatabase.AMOUNT);
+            }
+        }
+    }
+
+    /**
+     * Each thread walks the requests from its own position.
+     */
+    @State(Scope.Thread)
+    public static class Teller
+    {
+        private int next;
+
+        /**
+         * This function gives the next request for this thread.
+         * @param bank - the shared database
+         * @return an account equal to a hot account, carrying AMOUNT as its balance
+         */
+        Account nextRequest(Bank bank)
+        {
+            Account request = bank.requests[next];
+            next = (next + 1) & (PROBES - 1);
+            return request;
+        }
+    }
+
+    /**
+     * Deposits a cent into a hot account, running alongside the withdrawing threads of the group.
+     * @param bank - the shared database
+     * @param teller - this thread's position in the requests
+     */
+    @Benchmark
+    @Group("teller")
+    @GroupThreads(4)
+    public void deposit(Bank bank, Teller teller)
+    {
+        bank.database.deposit(teller.nextRequest(bank));
+    }
+
+    /**
+     * Withdraws a cent from a hot account, checking and debiting the balance as one step.
+     * @param bank - the shared database
+     * @param teller - this thread's position in the requests
+     * @return true if the withdrawal went through
+     */
+    @Benchmark
+    @Group("teller")
+    @GroupThreads(4)
+    public boolean withdraw(Bank bank, Teller teller)
+    {
+        return bank.database.withdraw(teller.nextRequest(bank));
+    }
+}
@@ -0,0 +1,74 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Date;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a date of birth, which the teller does on every transaction, into a new Date and into the
+ * interned one, and checking that a date of birth is not in the future.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateBenchmark {
+
+    @Param({"1987-11-23", "2001-1-5"})
+    public String dob;
+
+    private Date parsed;
+
+    /**
+     * Parses the date of birth checked by isInTheFuture.
+     */
+    @Setup
+    public void setUp()
+    {
+        parsed = new Date(dob);
+    }
+
+    /**
+     * Parses a date of birth in the form the DatePicker hands to the teller.
+     * @return the parsed date
+     */
+    @Benchmark
+    public Date parseDate()
+    {
+        return new Date(dob);
+    }
+
+    /**
+     * Parses a date of birth into the interned Date, the way the teller window does.
+     * @return the parsed date
+     */
+    @Benchmark
+    public Date parseInterned()
+    {
+        return Date.parse(dob);
+    }
+
+    /**
+     * Checks that a date of birth is not in the future, which reads today's date.
+     * @return true if the date is in the future
+     */
+    @Benchmark
+    public boolean isInTheFuture()
+    {
+        return parsed.isInTheFuture();
+    }
+}
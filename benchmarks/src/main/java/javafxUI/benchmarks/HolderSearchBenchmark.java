@@ -0,0 +1,66 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.AccountDatabase;
+import javafxUI.TellerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching the holders by part of their names, the way the teller window searches as the teller types:
+ * a prefix of a first name, the same with two letters swapped, and a first and last name prefix together.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class HolderSearchBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"first1234", "frist1234", "first12 last1"})
+    public String query;
+
+    private AccountDatabase database;
+
+    /**
+     * Loads the database and builds the search index once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        database = new AccountDatabase(size);
+        for(Account account : AccountFixtures.build(size, AccountFixtures.ALL_TYPES))
+        {
+            database.open(account);
+        }
+        database.searchHolders(query, TellerService.SEARCH_LIMIT);
+    }
+
+    /**
+     * Searches the holders for the query.
+     * @return the accounts found
+     */
+    @Benchmark
+    public List<Account> search()
+    {
+        return database.searchHolders(query, TellerService.SEARCH_LIMIT);
+    }
+}
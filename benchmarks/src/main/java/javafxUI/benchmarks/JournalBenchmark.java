@@ -0,0 +1,112 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.JournaledAccountDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deposits and withdrawals against a JournaledAccountDatabase writing to a temporary file, with
+ * group commit at several batch sizes, and against waiting for every change to reach the disk.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+
+    private static final int ACCOUNTS = 10000;
+    private static final int PROBES = 1 << 12;
+
+    @Param({"1", "64", "4096"})
+    public int batchSize;
+
+    @Param({"10"})
+    public long flushIntervalMillis;
+
+    private Path file;
+    private JournaledAccountDatabase database;
+    private Account[] deposits;
+    private Account[] withdrawals;
+    private int next;
+
+    /**
+     * Creates a journal in a temporary file and loads the accounts once per trial.
+     * @throws IOException if the journal cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        file = Files.createTempFile("journal", ".bin");
+        database = JournaledAccountDatabase.open(file, flushIntervalMillis, batchSize);
+        for(Account account : AccountFixtures.build(ACCOUNTS, AccountFixtures.ALL_TYPES))
+        {
+            database.open(account);
+        }
+        deposits = new Account[PROBES];
+        withdrawals = new Account[PROBES];
+        for(int i = 0; i < PROBES; i++)
+        {
+            int holder = (i * 7919) % ACCOUNTS;
+            int kind = AccountFixtures.kindOf(holder, AccountFixtures.ALL_TYPES);
+            deposits[i] = AccountFixtures.request(holder, kind, LoadedDatabase.AMOUNT);
+            withdrawals[i] = AccountFixtures.request(holder, kind, LoadedDatabase.AMOUNT);
+        }
+    }
+
+    /**
+     * Closes the journal and deletes its file.
+     * @throws IOException if the journal cannot be closed or deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        database.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Deposits a cent and withdraws it again, both journaled, leaving the forcing to disk to the group commit.
+     * @return true if the withdrawal went through
+     */
+    @Benchmark
+    public boolean depositAndWithdraw()
+    {
+        int i = next;
+        next = (next + 1) & (PROBES - 1);
+        database.deposit(deposits[i]);
+        return database.withdraw(withdrawals[i]);
+    }
+
+    /**
+     * Deposits a cent and waits until the change is on disk before going on.
+     * @throws IOException if the journal cannot be written
+     */
+    @Benchmark
+    public void depositAndSync() throws IOException
+    {
+        int i = next;
+        next = (next + 1) & (PROBES - 1);
+        database.deposit(deposits[i]);
+        database.sync();
+    }
+}
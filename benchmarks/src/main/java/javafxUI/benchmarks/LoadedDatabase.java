@@ -0,0 +1,66 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.AccountDatabase;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+/**
+ * LoadedDatabase is the JMH state shared by the database benchmarks: an AccountDatabase loaded with
+ * size accounts of the given type mix, plus a ring of lookup requests for randomly chosen holders.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@State(Scope.Benchmark)
+public class LoadedDatabase {
+
+    private static final int PROBES = 1 << 12;
+    private static final long SEED = 213L;
+    public static final double AMOUNT = 0.01;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({AccountFixtures.ALL_TYPES, AccountFixtures.CHECKING_ONLY, AccountFixtures.SAVINGS_ONLY,
+            AccountFixtures.MULTI_ACCOUNT})
+    public String mix;
+
+    public AccountDatabase database;
+    private Account[] probes;
+    private int next;
+
+    /**
+     * Loads the database and builds the lookup requests once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        database = new AccountDatabase(size);
+        for(Account account : AccountFixtures.build(size, mix))
+        {
+            database.open(account);
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        probes = new Account[PROBES];
+        for(int i = 0; i < PROBES; i++)
+        {
+            int account = random.nextInt(size);
+            probes[i] = AccountFixtures.request(account, mix, AMOUNT);
+        }
+    }
+
+    /**
+     * This function gives the next lookup request from the ring.
+     * @return an account equal to one in the database, carrying AMOUNT as its balance
+     */
+    public Account nextProbe()
+    {
+        Account probe = probes[next];
+        next = (next + 1) & (PROBES - 1);
+        return probe;
+    }
+}
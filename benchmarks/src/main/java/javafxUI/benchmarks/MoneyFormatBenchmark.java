@@ -0,0 +1,56 @@
+package javafxUI.benchmarks;
+
+import javafxUI.MoneyFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares formatting an amount of money with a new DecimalFormat per call, the way the listings
+ * used to, against appending it with MoneyFormat into a reused StringBuilder.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyFormatBenchmark {
+
+    @Param({"0.125", "2599.99", "1234567.891"})
+    public double amount;
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Formats with a DecimalFormat created for the call.
+     * @return the formatted amount
+     */
+    @Benchmark
+    public String decimalFormat()
+    {
+        return new DecimalFormat(MoneyFormat.PATTERN).format(amount);
+    }
+
+    /**
+     * Appends with MoneyFormat into a reused StringBuilder.
+     * @return the StringBuilder holding the formatted amount
+     */
+    @Benchmark
+    public StringBuilder moneyFormat()
+    {
+        line.setLength(0);
+        return MoneyFormat.appendTo(line, amount);
+    }
+}
@@ -0,0 +1,96 @@
+package javafxUI.benchmarks;
+
+import javafxUI.AccountDatabase;
+import javafxUI.ColumnarAccountStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of running the month-end fee and interest update: sequentially over the Account
+ * objects, in parallel on a fork/join pool, and over the columnar store.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class MonthEndBenchmark {
+
+    @Param({"1", "4", "8", "16", "32"})
+    public int parallelism;
+
+    @Param({"" + AccountDatabase.DEFAULT_SPLIT_THRESHOLD})
+    public int splitThreshold;
+
+    private ForkJoinPool pool;
+    private ColumnarAccountStore store;
+
+    /**
+     * Creates the pool and the columnar copy of the database once per trial.
+     * @param state - the loaded database
+     */
+    @Setup(Level.Trial)
+    public void setUp(LoadedDatabase state)
+    {
+        pool = new ForkJoinPool(parallelism);
+        store = state.database.toColumnarStore();
+    }
+
+    /**
+     * Shuts the pool down after the trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    /**
+     * Updates and lists every account on the calling thread.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String sequential(LoadedDatabase state)
+    {
+        return state.database.printWithUpdatedBalance();
+    }
+
+    /**
+     * Updates and lists every account on the fork/join pool.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String parallel(LoadedDatabase state)
+    {
+        return state.database.printWithUpdatedBalance(pool, splitThreshold);
+    }
+
+    /**
+     * Updates every balance in the columnar store, without a report.
+     * @return the store
+     */
+    @Benchmark
+    public ColumnarAccountStore columnar()
+    {
+        store.updateBalances();
+        return store;
+    }
+}
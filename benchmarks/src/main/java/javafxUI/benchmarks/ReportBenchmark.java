@@ -0,0 +1,68 @@
+package javafxUI.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole-database reports behind the print buttons, parameterized by database size and
+ * account type mix through LoadedDatabase.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ReportBenchmark {
+
+    /**
+     * Lists every account in the order they were opened.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String print(LoadedDatabase state)
+    {
+        return state.database.print();
+    }
+
+    /**
+     * Lists every account grouped by account type.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String printByAccountType(LoadedDatabase state)
+    {
+        return state.database.printByAccountType();
+    }
+
+    /**
+     * Lists every account with its monthly fee and interest.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String printFeeAndInterest(LoadedDatabase state)
+    {
+        return state.database.printFeeAndInterest();
+    }
+
+    /**
+     * Applies the monthly fee and interest to every account and lists the updated balances.
+     * @param state - the loaded database
+     * @return the report
+     */
+    @Benchmark
+    public String printWithUpdatedBalance(LoadedDatabase state)
+    {
+        return state.database.printWithUpdatedBalance();
+    }
+}
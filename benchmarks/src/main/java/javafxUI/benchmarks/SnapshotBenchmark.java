@@ -0,0 +1,119 @@
+package javafxUI.benchmarks;
+
+import javafxUI.Account;
+import javafxUI.AccountDatabase;
+import javafxUI.AccountSnapshot;
+import javafxUI.ColumnarAccountStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures starting from a snapshot: mapping it, creating every Account from it, and reading the month-end
+ * columns straight from the mapped records, against loading the same accounts by opening them one by one.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Path file;
+    private Account[] accounts;
+
+    /**
+     * Writes the snapshot once per trial.
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        accounts = AccountFixtures.build(size, AccountFixtures.ALL_TYPES);
+        AccountDatabase database = new AccountDatabase(size);
+        for(Account account : accounts)
+        {
+            database.open(account);
+        }
+        file = Files.createTempFile("accounts", ".snapshot");
+        database.writeSnapshot(file);
+    }
+
+    /**
+     * Deletes the snapshot.
+     * @throws IOException if the snapshot cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Maps the snapshot and creates a database on it, the way the teller starts.
+     * @return the number of accounts in the database
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Benchmark
+    public int map() throws IOException
+    {
+        return new AccountDatabase(AccountSnapshot.map(file)).getNumAcct();
+    }
+
+    /**
+     * Maps the snapshot and creates every account and the index, the cost of the first lookup after starting.
+     * @return the account found
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Benchmark
+    public Account mapAndMaterialize() throws IOException
+    {
+        return new AccountDatabase(AccountSnapshot.map(file)).getAccountIfExists(accounts[0]);
+    }
+
+    /**
+     * Maps the snapshot and copies the month-end columns without creating any account.
+     * @return the columnar store
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Benchmark
+    public ColumnarAccountStore mapToColumnarStore() throws IOException
+    {
+        return AccountSnapshot.map(file).toColumnarStore();
+    }
+
+    /**
+     * Opens every account one by one, the baseline a snapshot replaces.
+     * @return the loaded database
+     */
+    @Benchmark
+    public AccountDatabase openOneByOne()
+    {
+        AccountDatabase database = new AccountDatabase(size);
+        for(Account account : accounts)
+        {
+            database.open(account);
+        }
+        return database;
+    }
+}
@@ -1,20 +1,52 @@
 package javafxUI;
 
 
-
-import java.text.DecimalFormat;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Account Class is an abstract class that defines the common data and operations for all account
  * type; each account has a profile that uniquely identifies the account holder. This is the superclass
  * of all account types, and it is an abstract class with 3 abstract methods.
+ * The balance is kept as a whole number of cents, so deposits, withdrawals, fees and interest are exact;
+ * the methods taking and returning double dollar amounts convert at the edges.
+ * The monthly fee and interest are computed once and kept until the account changes: every method that changes
+ * the balance, the closing status or anything else the fee or interest depend on marks the account dirty, which
+ * counts one more change. The report line of the account is kept the same way. Its start, the type, holder and date
+ * of birth, never changes once the holder is set, so when the account is dirty only the balance and the status after
+ * it are formatted again. Each cached value is kept with the change count read before it was computed, and is only
+ * used while the count is the same, so a change made by another thread while it was being computed is never lost.
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public abstract class Account
 {
     protected Profile holder;
     protected boolean closed;
-    protected double balance;
+    protected long balance;
+    private volatile int changes;
+    private volatile Charges charges;
+    private volatile Line line;
+
+    /**
+     * Returned by getAndWithdrawCentsAtomically when the balance does not cover the amount.
+     */
+    static final long NOT_WITHDRAWN = Long.MIN_VALUE;
+
+    private static final VarHandle BALANCE;
+    private static final VarHandle CHANGES;
+
+    static
+    {
+        try
+        {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+            CHANGES = MethodHandles.lookup().findVarHandle(Account.class, "changes", int.class);
+        }
+        catch(ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     /**
      * @return boolean representing the closing status of the account
@@ -29,8 +61,9 @@ public abstract class Account
      */
     public void reOpen(Account newAccount)
     {
-        balance = newAccount.getBalance();
+        balance = newAccount.balance;
         closed = false;
+        markDirty();
     }
 
     /**
@@ -38,14 +71,23 @@ public abstract class Account
      */
     public void close()
     {
-       balance = 0.0;
+       balance = 0;
        closed = true;
+       markDirty();
     }
 
     /**
      * @return double containing balance of an account
      */
     public double getBalance()
+    {
+        return Money.toDollars(this.balance);
+    }
+
+    /**
+     * @return long containing balance of an account in cents
+     */
+    public long getBalanceCents()
     {
         return this.balance;
     }
@@ -67,6 +109,16 @@ public abstract class Account
         return false;
     }
 
+    /**
+     * Gives a hash code consistent with equals, based on the profile of the account holder.
+     * @return int representing the hash code of the account
+     */
+    @Override
+    public int hashCode()
+    {
+        return this.holder.hashCode();
+    }
+
     /**
      * This function updates the balance calculated with the fee and monthly interest.
      */
@@ -74,19 +126,56 @@ public abstract class Account
     {
         if(!this.closed)
         {
-            balance = balance - fee() + monthlyInterest();
+            balance = balance - cachedFeeCents() + cachedMonthlyInterestCents();
+            markDirty();
         }
     }
 
     /**
-     *
-     * @return a string that has profile information of account holder and the amount of balance in their account.
+     * This function gives the report line of the account: the account type, the profile information of the account
+     * holder, the balance, and the status written by appendStatus. The line is kept until the account changes, and
+     * then only the part from the balance on is formatted again.
+     * @return a string that has the account type, profile information of account holder, the amount of balance in
+     * their account and the status of the account.
      */
     @Override
-    public String toString()
+    public final String toString()
+    {
+        int version = this.changes;
+        Line previous = this.line;
+        if(previous != null && previous.version == version)
+        {
+            return previous.text;
+        }
+        StringBuilder s;
+        int prefixLength;
+        if(previous == null)
+        {
+            s = new StringBuilder();
+            s.append(getType()).append("::").append(holder.toString()).append("::").append("Balance ");
+            prefixLength = s.length();
+        }
+        else
+        {
+            s = new StringBuilder(previous.text.length() + 8);
+            s.append(previous.text, 0, previous.prefixLength);
+            prefixLength = previous.prefixLength;
+        }
+        MoneyFormat.appendCents(s, this.balance);
+        appendStatus(s);
+        String text = s.toString();
+        this.line = new Line(version, text, prefixLength);
+        return text;
+    }
+
+    /**
+     * This function appends what follows the balance in the report line, like whether the account is closed.
+     * Account types that show more override it.
+     * @param s - where the status is appended
+     */
+    protected void appendStatus(StringBuilder s)
     {
-        DecimalFormat df = new DecimalFormat("$#,##0.00");
-        return holder.toString() + "::" + "Balance " + df.format(this.balance);
+
     }
 
     /**
@@ -95,8 +184,85 @@ public abstract class Account
      * @param amount - The amount that needs to be deducted or withdrawn from an account.
      */
     public void withdraw(double amount)
+    {
+        withdrawCents(Money.toCents(amount));
+    }
+
+    /**
+     * This function deducts an amount given in cents from the balance of an account.
+     * @param amount - The amount in cents that needs to be deducted or withdrawn from an account.
+     */
+    public void withdrawCents(long amount)
     {
         this.balance -= amount;
+        markDirty();
+    }
+
+    /**
+     * This function adds an amount given in cents to the balance with an atomic compare-and-set, so any number
+     * of threads can deposit into the same account at once without a lock.
+     * @param amount - The amount in cents that needs to be added in the current balance.
+     */
+    public void depositCentsAtomically(long amount)
+    {
+        getAndDepositCentsAtomically(amount);
+    }
+
+    /**
+     * This function adds an amount given in cents to the balance atomically, the same as depositCentsAtomically.
+     * @param amount - The amount in cents that needs to be added in the current balance.
+     * @return long holding the balance in cents right before the amount was added
+     */
+    long getAndDepositCentsAtomically(long amount)
+    {
+        long before = (long) BALANCE.getAndAdd(this, amount);
+        markDirty();
+        return before;
+    }
+
+    /**
+     * This function checks that the balance covers an amount given in cents and deducts it as one atomic step,
+     * retrying with compare-and-set if another thread changed the balance in between, so no lock is needed and
+     * two withdrawals can never both spend the same funds.
+     * @param amount - The amount in cents requested by the user that needs to be withdrawn.
+     * @return true if the amount was available and has been deducted, else returns false.
+     */
+    public boolean withdrawCentsAtomically(long amount)
+    {
+        return getAndWithdrawCentsAtomically(amount) != NOT_WITHDRAWN;
+    }
+
+    /**
+     * This function checks that the balance covers an amount given in cents and deducts it atomically, the same as
+     * withdrawCentsAtomically.
+     * @param amount - The amount in cents requested by the user that needs to be withdrawn.
+     * @return long holding the balance in cents right before the amount was deducted, NOT_WITHDRAWN if the
+     * balance did not cover it
+     */
+    long getAndWithdrawCentsAtomically(long amount)
+    {
+        long current = (long) BALANCE.getVolatile(this);
+        while(amount <= current)
+        {
+            long witness = (long) BALANCE.compareAndExchange(this, current, current - amount);
+            if(witness == current)
+            {
+                recordWithdrawal();
+                markDirty();
+                return current;
+            }
+            current = witness;
+        }
+        return NOT_WITHDRAWN;
+    }
+
+    /**
+     * This function is called right after withdrawCentsAtomically deducts an amount, for account types that
+     * keep track of their withdrawals. It must be safe to call from several threads at once.
+     */
+    protected void recordWithdrawal()
+    {
+
     }
 
     /**
@@ -106,11 +272,17 @@ public abstract class Account
      */
     public boolean canBeWithdrawn(double amount)
     {
-        if(amount > this.balance)
-        {
-            return false;
-        }
-        return true;
+        return canBeWithdrawnCents(Money.toCents(amount));
+    }
+
+    /**
+     * This function checks if the requested amount given in cents can be withdrawn or not.
+     * @param amount - The amount in cents requested by the user that needs to be withdrawn.
+     * @return true if amount is available in the user's account, else returns false.
+     */
+    public boolean canBeWithdrawnCents(long amount)
+    {
+        return amount <= this.balance;
     }
 
     /**
@@ -118,16 +290,44 @@ public abstract class Account
      * @param amount - The amount that needs to be added in the current balance.
      */
     public void deposit(double amount)
+    {
+        depositCents(Money.toCents(amount));
+    }
+
+    /**
+     * This function adds an amount given in cents to the current balance of the account
+     * @param amount - The amount in cents that needs to be added in the current balance.
+     */
+    public void depositCents(long amount)
     {
         this.balance += amount;
+        markDirty();
     }
 
     /**
-     * This function sets the balance of an account.
+     * This function sets the balance of an account, rounded half to even to whole cents.
      * @param balance - balance left in the account.
      */
     public void setBalance(double balance) {
+        this.balance = Money.toCents(balance);
+        markDirty();
+    }
+
+    /**
+     * This function sets the balance of an account in cents.
+     * @param balance - balance left in the account in cents.
+     */
+    public void setBalanceCents(long balance) {
         this.balance = balance;
+        markDirty();
+    }
+
+    /**
+     * @return Profile of the account holder, which finds all of their accounts in a database.
+     */
+    public Profile getHolder()
+    {
+        return this.holder;
     }
 
     /**
@@ -139,20 +339,94 @@ public abstract class Account
     public void setHolder(String fName, String lName, Date dob)
     {
         this.holder = new Profile(fName,lName,dob);
+        this.line = null;
+    }
+
+    /**
+     * This function replaces the profile of the account holder by the interned one, so the accounts of one
+     * customer share a Profile. It is called when the account is added to a database.
+     */
+    void internHolder()
+    {
+        this.holder = holder.interned();
+    }
+
+    /**
+     * This function marks the fee, monthly interest and report line as out of date, so they are computed again the
+     * next time they are needed. Subclasses call it whenever they change something the fee, interest or line depend on.
+     */
+    protected void markDirty()
+    {
+        CHANGES.getAndAdd(this, 1);
+    }
+
+    /**
+     * This function is a helper that gives the fee and monthly interest, computing them again if the account changed
+     * since they were last computed.
+     * @return Charges holding the fee and monthly interest in cents
+     */
+    private Charges charges()
+    {
+        int version = this.changes;
+        Charges current = this.charges;
+        if(current == null || current.version != version)
+        {
+            current = new Charges(version, feeCents(), monthlyInterestCents());
+            this.charges = current;
+        }
+        return current;
+    }
+
+    /**
+     * This function gives the monthly fee in cents, computed only if the account changed since it was last asked for.
+     * @return - a long that has the monthly fee in cents, the same as feeCents()
+     */
+    final long cachedFeeCents()
+    {
+        return charges().fee;
+    }
+
+    /**
+     * This function gives the monthly interest in cents, computed only if the account changed since it was last asked for.
+     * @return - a long that has the monthly interest in cents, the same as monthlyInterestCents()
+     */
+    final long cachedMonthlyInterestCents()
+    {
+        return charges().interest;
     }
 
     /**
      * This function returns a monthly interest depending on the type of the account.
      * @return - a double which is the monthly interest that an account holder gets on his account.
      */
-    public abstract double monthlyInterest(); //return the monthly interest
+    public double monthlyInterest()
+    {
+        return Money.toDollars(cachedMonthlyInterestCents());
+    }
+
+    /**
+     * This function returns a monthly interest in cents depending on the type of the account,
+     * rounded half to even to whole cents.
+     * @return - a long which is the monthly interest in cents that an account holder gets on his account.
+     */
+    public abstract long monthlyInterestCents(); //return the monthly interest
 
     /**
      * This function returns a monthly fee that an account holder needs to pay on a monthly basis.
      * @return - a double that has a monthly fee that an account holder needs to pay on a monthly basis
      * depending on the account type.
      */
-    public abstract double fee(); //return the monthly fee
+    public double fee()
+    {
+        return Money.toDollars(cachedFeeCents());
+    }
+
+    /**
+     * This function returns a monthly fee in cents that an account holder needs to pay on a monthly basis.
+     * @return - a long that has a monthly fee in cents that an account holder needs to pay on a monthly basis
+     * depending on the account type.
+     */
+    public abstract long feeCents(); //return the monthly fee
 
     /**
      * This method gives the name of the account type
@@ -167,4 +441,51 @@ public abstract class Account
     public String getShortType() {
        return getType();
     }
+
+    /**
+     * Charges is the monthly fee and interest of an account, along with the change count they were computed at.
+     */
+    private static final class Charges
+    {
+        private final int version;
+        private final long fee;
+        private final long interest;
+
+        /**
+         * Constructor that keeps the fee and interest computed at a change count.
+         * @param version - the change count read before computing them
+         * @param fee - the monthly fee in cents
+         * @param interest - the monthly interest in cents
+         */
+        private Charges(int version, long fee, long interest)
+        {
+            this.version = version;
+            this.fee = fee;
+            this.interest = interest;
+        }
+    }
+
+    /**
+     * Line is the report line of an account, along with the change count it was formatted at and the length of
+     * its start, which never changes.
+     */
+    private static final class Line
+    {
+        private final int version;
+        private final String text;
+        private final int prefixLength;
+
+        /**
+         * Constructor that keeps a report line formatted at a change count.
+         * @param version - the change count read before formatting it
+         * @param text - the report line
+         * @param prefixLength - the length of the type, holder and date of birth at its start
+         */
+        private Line(int version, String text, int prefixLength)
+        {
+            this.version = version;
+            this.text = text;
+            this.prefixLength = prefixLength;
+        }
+    }
 }
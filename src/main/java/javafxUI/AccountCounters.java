@@ -0,0 +1,191 @@
+package javafxUI;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AccountCounters keeps the running totals behind AccountStatistics. Each change to an account adds its difference
+ * to the totals instead of recounting every account. The totals are LongAdders, so threads holding the locks of
+ * different accounts can update them at once without losing a change; they are exact whenever no change is in
+ * progress.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class AccountCounters {
+
+    private static final int TYPES = 4;
+    private static final long MONEY_MARKET_LOYAL_CENTS = MoneyMarket.ExpectedBalance * Money.CENTS_PER_DOLLAR;
+
+    private final LongAdder[] counts = new LongAdder[TYPES];
+    private final LongAdder[] balances = new LongAdder[TYPES];
+    private final LongAdder closed = new LongAdder();
+    private final LongAdder loyal = new LongAdder();
+    private final LongAdder moneyMarketWithdrawals = new LongAdder();
+
+    /**
+     * Constructor that creates the counters of an empty database.
+     */
+    AccountCounters()
+    {
+        for(int i = 0; i < TYPES; i++)
+        {
+            counts[i] = new LongAdder();
+            balances[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * This function is a helper that checks if an account counts as loyal.
+     * @param account - the account
+     * @return true for a Savings or Money Market account that is loyal
+     */
+    private static boolean isLoyal(Account account)
+    {
+        return account instanceof Savings && ((Savings) account).isLoyal();
+    }
+
+    /**
+     * This function is a helper that gives the number of withdrawals counted by an account.
+     * @param account - the account
+     * @return int which is the withdrawal count of a Money Market account, 0 for the other types
+     */
+    private static int withdrawals(Account account)
+    {
+        return account instanceof MoneyMarket ? ((MoneyMarket) account).getWithdrawCounter() : 0;
+    }
+
+    /**
+     * This function adds an account to the totals, or takes it out.
+     * @param account - the account
+     * @param sign - 1 to add the account, -1 to take it out
+     */
+    private void count(Account account, int sign)
+    {
+        int code = ColumnarAccountStore.typeOf(account);
+        counts[code].add(sign);
+        balances[code].add(sign * account.getBalanceCents());
+        if(account.isClosed())
+        {
+            closed.add(sign);
+        }
+        if(isLoyal(account))
+        {
+            loyal.add(sign);
+        }
+        int withdrawn = withdrawals(account);
+        if(withdrawn != 0)
+        {
+            moneyMarketWithdrawals.add(sign * withdrawn);
+        }
+    }
+
+    /**
+     * This function adds a new account to the totals.
+     * @param account - the account added to the database
+     */
+    void add(Account account)
+    {
+        count(account, 1);
+    }
+
+    /**
+     * This function takes an account out of the totals before it is changed in a way other than its balance,
+     * to be added back with add once the change is made.
+     * @param account - the account about to change
+     */
+    void remove(Account account)
+    {
+        count(account, -1);
+    }
+
+    /**
+     * This function records a change of the balance of an account. Only the balance moves, so the account keeps
+     * its type and status, apart from a Money Market account whose loyalty follows its balance.
+     * @param account - the account whose balance changed
+     * @param before - the balance in cents before the change
+     * @param after - the balance in cents after the change
+     */
+    void balanceChanged(Account account, long before, long after)
+    {
+        int code = ColumnarAccountStore.typeOf(account);
+        balances[code].add(after - before);
+        if(code == ColumnarAccountStore.MONEY_MARKET)
+        {
+            boolean wasLoyal = before >= MONEY_MARKET_LOYAL_CENTS;
+            if(wasLoyal != after >= MONEY_MARKET_LOYAL_CENTS)
+            {
+                loyal.add(wasLoyal ? -1 : 1);
+            }
+        }
+    }
+
+    /**
+     * This function records a withdrawal, which a Money Market account counts.
+     * @param account - the account withdrawn from
+     */
+    void withdrawn(Account account)
+    {
+        if(account instanceof MoneyMarket)
+        {
+            moneyMarketWithdrawals.increment();
+        }
+    }
+
+    /**
+     * This function counts the totals again from the accounts, after an update that changed all of them. It must
+     * not run while any other change is made.
+     * @param accounts - the accounts of the database
+     * @param numAcct - the number of accounts
+     */
+    void recount(Account[] accounts, int numAcct)
+    {
+        long[] count = new long[TYPES];
+        long[] balance = new long[TYPES];
+        long closedCount = 0;
+        long loyalCount = 0;
+        long withdrawn = 0;
+        for(int i = 0; i < numAcct; i++)
+        {
+            Account account = accounts[i];
+            int code = ColumnarAccountStore.typeOf(account);
+            count[code]++;
+            balance[code] += account.getBalanceCents();
+            closedCount += account.isClosed() ? 1 : 0;
+            loyalCount += isLoyal(account) ? 1 : 0;
+            withdrawn += withdrawals(account);
+        }
+        for(int i = 0; i < TYPES; i++)
+        {
+            set(counts[i], count[i]);
+            set(balances[i], balance[i]);
+        }
+        set(closed, closedCount);
+        set(loyal, loyalCount);
+        set(moneyMarketWithdrawals, withdrawn);
+    }
+
+    /**
+     * This function is a helper that sets the total of a LongAdder.
+     * @param adder - the LongAdder
+     * @param value - its new total
+     */
+    private static void set(LongAdder adder, long value)
+    {
+        adder.reset();
+        adder.add(value);
+    }
+
+    /**
+     * This function reads the totals.
+     * @return AccountStatistics holding the totals
+     */
+    AccountStatistics statistics()
+    {
+        long[] count = new long[TYPES];
+        long[] balance = new long[TYPES];
+        for(int i = 0; i < TYPES; i++)
+        {
+            count[i] = counts[i].sum();
+            balance[i] = balances[i].sum();
+        }
+        return new AccountStatistics(count, balance, closed.sum(), loyal.sum(), moneyMarketWithdrawals.sum());
+    }
+}
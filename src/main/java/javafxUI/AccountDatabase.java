@@ -2,18 +2,39 @@ package javafxUI;
 
 /**
   An instance of this AccountDatabase class is an array-based container that holds a list of
-  accounts with different types. The initial capacity of container will be 4. It will automatically
-  grow by the capacity of 4 if array is full.
+  accounts with different types. The initial capacity of container will be 4, unless a larger capacity
+  is requested up front. It will automatically double its capacity if array is full. A database created
+  from an AccountSnapshot creates its accounts from the snapshot the first time they are needed.
+  Besides the index used to find an account, the accounts are grouped by their holder's profile, so the
+  accounts of a customer and their combined balance are found in constant time. The accounts can also be searched by part of their holder's names, through an
+  index built the first time a search is made and kept up to date as accounts are opened.
   @author Sumanth Rajkumar, Shantanu Jain
  */
 
-import java.text.DecimalFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 public class AccountDatabase {
     private Account[] accounts;
     private int numAcct;
+    private final HashMap<Account, Account> index;
+    private final HashMap<Profile, ArrayList<Account>> accountsByHolder;
+    private final TreeMap<String, ArrayList<Account>> accountsByType;
+    private AccountSnapshot snapshot;
+    private final AccountCounters counters = new AccountCounters();
+    private HolderSearchIndex holderSearch;
 
     public static final int NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    public static final int DEFAULT_SPLIT_THRESHOLD = 4096;
 
     /**
      * This is the constructor that creates an array-based data structure.
@@ -21,8 +42,57 @@ public class AccountDatabase {
      */
     public AccountDatabase ()
     {
-        this.accounts = new Account[4];
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * This is the constructor that creates an array-based data structure sized for a bulk import,
+     * so loading the expected number of accounts never has to grow the array or rehash the index.
+     * numAcct is set to 0.
+     * @param expectedAccounts - the number of accounts the database is expected to hold
+     * @throws IllegalArgumentException if expectedAccounts is negative
+     */
+    public AccountDatabase(int expectedAccounts)
+    {
+        if(expectedAccounts < 0)
+        {
+            throw new IllegalArgumentException("Expected number of accounts cannot be negative: " + expectedAccounts);
+        }
+        int capacity = Math.max(expectedAccounts, INITIAL_CAPACITY);
+        this.accounts = new Account[capacity];
         this.numAcct = 0;
+        this.index = new HashMap<>((int) Math.min((long) capacity * 4 / 3 + 1, MAX_CAPACITY));
+        this.accountsByHolder = new HashMap<>((int) Math.min((long) capacity * 4 / 3 + 1, MAX_CAPACITY));
+        this.accountsByType = new TreeMap<>();
+    }
+
+    /**
+     * This is the constructor that creates a database holding the accounts of a snapshot. Nothing is read from the
+     * snapshot until an account is first needed, so creating the database takes constant time.
+     * @param snapshot - the snapshot holding the accounts in the order they were opened
+     */
+    public AccountDatabase(AccountSnapshot snapshot)
+    {
+        this(snapshot.size());
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * This function is a helper that adds the accounts of the snapshot the database was created from, the first
+     * time any account is needed.
+     */
+    private void materialize()
+    {
+        AccountSnapshot source = this.snapshot;
+        if(source == null)
+        {
+            return;
+        }
+        this.snapshot = null;
+        for(int row = 0; row < source.size(); row++)
+        {
+            append(source.getAccount(row));
+        }
     }
 
     /**
@@ -30,25 +100,21 @@ public class AccountDatabase {
      */
     public int getNumAcct()
     {
-        return numAcct;
+        return snapshot == null ? numAcct : snapshot.size();
     }
 
     /**
      * This function finds whether the passed in account object exists in the AccountDatabase object or not.
+     * The lookup goes through a hash index keyed by the account type and the holder's profile, so it takes
+     * constant time instead of scanning the array. Accounts are never removed from the array, closing only
+     * marks them closed, so the index stays valid across open, close and reopen.
      * @param account - the account object that needs to be found
-     * @return - int which is the index at which the passed in account is found, otherwise returns NOT_FOUND.
+     * @return - the account in the database that is equal to the passed in account, otherwise null.
      */
-    private int find(Account account)
+    private Account find(Account account)
     {
-        Account[] accounts = this.accounts;
-        for(int i = 0; i < this.numAcct; i++)
-        {
-            if(account.equals(accounts[i]))
-            {
-                return i;
-            }
-        }
-        return NOT_FOUND;
+        materialize();
+        return this.index.get(account);
     }
 
 
@@ -59,54 +125,163 @@ public class AccountDatabase {
      */
     public Account getAccountIfExists(Account account)
     {
-        int index = find(account);
-        if(index == NOT_FOUND){
-            return null;
+        return find(account);
+    }
+
+
+    /**
+     * This function gives every account of a holder, open or closed, in the order they were opened. A holder
+     * has at most one account of each type, with Checking and College Checking counting as one type.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return List of the holder's accounts, empty if the holder has none
+     */
+    public List<Account> getAccounts(Profile holder)
+    {
+        materialize();
+        ArrayList<Account> accounts = accountsByHolder.get(holder);
+        return accounts == null ? List.of() : List.copyOf(accounts);
+    }
+
+    /**
+     * This function adds up the balances of every account of a holder. A closed account has a balance of 0.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return long holding the combined balance in cents, 0 if the holder has no account
+     */
+    public long getCombinedBalanceCents(Profile holder)
+    {
+        long balance = 0;
+        for(Account account : getAccounts(holder))
+        {
+            balance += account.getBalanceCents();
+        }
+        return balance;
+    }
+
+    /**
+     * This function gives the report lines of every account of a holder followed by their combined balance, for the
+     * customer overview. Each line is formatted through describe, so a subclass can guard the holder's accounts
+     * while the lines and the balance are read.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return List of the report lines in the order the accounts were opened and the combined balance line, empty
+     * if the holder has no account
+     */
+    public List<String> describeAccounts(Profile holder)
+    {
+        List<Account> found = getAccounts(holder);
+        if(found.isEmpty())
+        {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>(found.size() + 1);
+        long balance = 0;
+        for(Account account : found)
+        {
+            lines.add(describe(account));
+            balance += account.getBalanceCents();
         }
-        return accounts[index];
+        lines.add(MoneyFormat.appendCents(new StringBuilder("Combined Balance "), balance).toString());
+        return lines;
     }
 
+    /**
+     * This function finds the accounts whose holder's first or last name starts with every word of a query,
+     * allowing one typo in words of at least HolderSearchIndex.MIN_TYPO_LENGTH characters. The search index is
+     * built from every account the first time this is called, and accounts opened after that are added to it.
+     * @param query - part of the holder's names, the words separated by spaces
+     * @param limit - the most accounts found
+     * @return List of at most limit accounts, the exact matches first, empty if the query has no words
+     */
+    public List<Account> searchHolders(String query, int limit)
+    {
+        materialize();
+        if(holderSearch == null)
+        {
+            HolderSearchIndex index = new HolderSearchIndex();
+            for(int i = 0; i < numAcct; i++)
+            {
+                index.add(accounts[i]);
+            }
+            holderSearch = index;
+        }
+        return holderSearch.search(query, limit);
+    }
 
     /**
-     * This function grows the array-based container size by 4 when the array gets full, by creating
-     * a new array and copying all the elements from current array to the new array.
+     * This function finds the accounts the same way searchHolders does and gives their report lines. Each line is
+     * formatted through describe, the same as in the other reports, so a subclass can guard each account while its
+     * line is formatted and no account is handed out of the database.
+     * @param query - part of the holder's names, the words separated by spaces
+     * @param limit - the most accounts found
+     * @return List of the report lines of at most limit accounts, the exact matches first
+     */
+    public List<String> describeHolders(String query, int limit)
+    {
+        List<Account> found = searchHolders(query, limit);
+        List<String> lines = new ArrayList<>(found.size());
+        for(Account account : found)
+        {
+            lines.add(describe(account));
+        }
+        return lines;
+    }
+
+    /**
+     * @return - true if the holder search index has been built.
+     */
+    boolean hasHolderSearch()
+    {
+        return snapshot == null && holderSearch != null;
+    }
+
+    /**
+     * This function doubles the array-based container size when the array gets full, by copying
+     * all the elements from current array to a new array, so appends cost amortized constant time.
      */
     private void grow()
     {
         Account[] currentAccounts = this.accounts;
-        int updatedLength = currentAccounts.length + 4;
-        Account[] newAccounts = new Account[updatedLength];
-
-        for (int i = 0; i < currentAccounts.length; i++)
+        if(currentAccounts.length >= MAX_CAPACITY)
         {
-            newAccounts[i] = currentAccounts[i];
+            throw new IllegalStateException("Account Database cannot hold more than " + MAX_CAPACITY + " accounts.");
         }
-        this.accounts = newAccounts;
+        int updatedLength = (int) Math.min((long) currentAccounts.length * 2, MAX_CAPACITY);
+        this.accounts = Arrays.copyOf(currentAccounts, updatedLength);
     }
 
     /**
-     * This function adds a new account object to AccountDatabase array.
+     * This function adds a new account object to AccountDatabase array. Accounts are never removed
+     * from the array, so the occupied slots are always 0 to numAcct - 1 and numAcct is the next free slot.
+     * The account is also appended to the bucket of its account type, kept in the order accounts were opened.
      * @param account - The account object that needs to be added.
      * @return true only after when the account gets added to array successfully.
      */
     public boolean open(Account account)
     {
-        Account[] accounts = this.accounts;
+        materialize();
+        append(account);
+        return true;
+    }
 
-        for(int i = 0; i < accounts.length; i++)
+    /**
+     * This function is a helper that adds an account at the end of the array, the index and its type's bucket.
+     * @param account - The account object that needs to be added.
+     */
+    private void append(Account account)
+    {
+        account.internHolder();
+        if(numAcct == accounts.length)
         {
-
-            if(accounts[i] == null)
-            {
-                accounts[i] = account;
-                numAcct++;
-                return true;
-            }
+            this.grow();
+        }
+        accounts[numAcct++] = account;
+        index.put(account, account);
+        accountsByHolder.computeIfAbsent(account.holder, holder -> new ArrayList<>(1)).add(account);
+        counters.add(account);
+        accountsByType.computeIfAbsent(account.getType(), type -> new ArrayList<>()).add(account);
+        if(holderSearch != null)
+        {
+            holderSearch.add(account);
         }
-        this.grow();
-        this.open(account);
-        return true;
-
     }
 
     /**
@@ -116,15 +291,16 @@ public class AccountDatabase {
      */
     public boolean reOpen(Account account)
     {
-        Account[] accounts = this.accounts;
-        int location = this.find(account);
-        if(location == NOT_FOUND)
+        Account existing = this.find(account);
+        if(existing == null)
         {
             return false;
         }
         else
         {
-            accounts[location].reOpen(account);
+            counters.remove(existing);
+            existing.reOpen(account);
+            counters.add(existing);
             return true;
         }
     }
@@ -137,15 +313,16 @@ public class AccountDatabase {
      */
     public boolean close(Account account)
     {
-        Account[] accounts = this.accounts;
-        int location = this.find(account);
-        if(location == NOT_FOUND)
+        Account existing = this.find(account);
+        if(existing == null)
         {
             return false;
         }
         else
         {
-            accounts[location].close();
+            counters.remove(existing);
+            existing.close();
+            counters.add(existing);
             return true;
         }
     }
@@ -156,9 +333,10 @@ public class AccountDatabase {
      */
     public void deposit(Account account)
     {
-        int index = find(account);
-        accounts[index].deposit(account.getBalance());
-
+        Account existing = find(account);
+        long before = existing.getBalanceCents();
+        existing.depositCents(account.getBalanceCents());
+        counters.balanceChanged(existing, before, existing.getBalanceCents());
     }
 
     /**
@@ -171,38 +349,161 @@ public class AccountDatabase {
     public boolean withdraw(Account account)
     {
         Account existingAccount = getAccountIfExists(account);
-        if(existingAccount!=null && existingAccount.canBeWithdrawn(account.getBalance()))
+        if(existingAccount!=null && existingAccount.canBeWithdrawnCents(account.getBalanceCents()))
         {
-            existingAccount.withdraw(account.getBalance());
+            long before = existingAccount.getBalanceCents();
+            existingAccount.withdrawCents(account.getBalanceCents());
+            counters.balanceChanged(existingAccount, before, existingAccount.getBalanceCents());
+            counters.withdrawn(existingAccount);
             return true;
         }
         return false;
 
     }
 
+    /**
+     * This function opens an account unless an equal account is already in the database, checking and adding it
+     * as one step, so two tellers opening the same account cannot both add it.
+     * @param account - The account object that needs to be added.
+     * @return Account already in the database, or null if the passed in account was opened
+     */
+    public Account openIfAbsent(Account account)
+    {
+        Account existing = getAccountIfExists(account);
+        if(existing == null)
+        {
+            open(account);
+        }
+        return existing;
+    }
+
+    /**
+     * This function reopens an account only if it is closed and of the same type, checking and reopening it
+     * as one step, so two tellers reopening the same account cannot both reopen it.
+     * @param account - account object that needs to be reopened in the array
+     * @return true when the account object is reopened, false when it's not found, open or of another type
+     */
+    public boolean reOpenIfClosed(Account account)
+    {
+        Account existing = getAccountIfExists(account);
+        if(existing == null || !existing.isClosed() || !existing.getType().equals(account.getType()))
+        {
+            return false;
+        }
+        return reOpen(account);
+    }
+
+    /**
+     * This function closes an account only if it is open, checking and closing it as one step.
+     * @param account - The account object that needs to be closed.
+     * @return true if the account is closed by this call, false if it does not exist or was already closed.
+     */
+    public boolean closeIfOpen(Account account)
+    {
+        Account existing = getAccountIfExists(account);
+        if(existing == null || existing.isClosed())
+        {
+            return false;
+        }
+        return close(account);
+    }
+
+    /**
+     * This function adds in an amount to the balance of an account only if it is open, checking and depositing
+     * as one step, so no deposit lands on an account another teller has just closed.
+     * @param account - account object in which the balance needs to be added.
+     * @return true if the amount was deposited, false if the account does not exist or is closed.
+     */
+    public boolean depositIfOpen(Account account)
+    {
+        Account existing = getAccountIfExists(account);
+        if(existing == null || existing.isClosed())
+        {
+            return false;
+        }
+        deposit(account);
+        return true;
+    }
+
+    /**
+     * A report that writes its lines to an Appendable, so the same code can build a String or stream to a file.
+     */
+    @FunctionalInterface
+    private interface Report
+    {
+        void writeTo(Appendable out) throws IOException;
+    }
+
+    /**
+     * This function is a helper that builds the whole of a report in memory.
+     * @param report - the report being built
+     * @return - String holding every line of the report
+     */
+    private static String render(Report report)
+    {
+        StringBuilder s = new StringBuilder();
+        try
+        {
+            report.writeTo(s);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return s.toString();
+    }
+
     /**
      * This function prints all the accounts in the database.
      * @return - String representing all the information of each account object in the array line by line
      */
     public String print()
     {
-        StringBuilder s = new StringBuilder();
+        return render(this::print);
+    }
+
+    /**
+     * This function prints all the accounts in the database, writing each line to out as soon as it is formatted
+     * instead of building the whole report in memory.
+     * @param out - where the report is written, for example a Writer on a file or a socket
+     * @throws IOException if writing to out fails
+     */
+    public void print(Appendable out) throws IOException
+    {
+        materialize();
         for(int i = 0; i < numAcct; i++)
         {
-            s.append(accounts[i]).append("\n");
+            out.append(describe(accounts[i])).append("\n");
         }
-        return s.toString();
     }
 
     /**
-     * This function prints all the accounts in the database by their account type.
+     * This function prints all the accounts in the database by their account type. It walks the per-type
+     * buckets, so it takes linear time and leaves the order of the accounts array untouched.
      * @return - String representing all the information of each account object in the array line by line,
-     * but ordered by each account type alphabetically
+     * but ordered by each account type alphabetically, and by the order they were opened within each type
      */
     public String printByAccountType()
     {
-       this.sortByAccountType();
-       return this.print();
+        return render(this::printByAccountType);
+    }
+
+    /**
+     * This function prints all the accounts in the database by their account type, writing each line to out
+     * as soon as it is formatted.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    public void printByAccountType(Appendable out) throws IOException
+    {
+        materialize();
+        for(ArrayList<Account> bucket : accountsByType.values())
+        {
+            for(Account account : bucket)
+            {
+                out.append(describe(account)).append("\n");
+            }
+        }
     }
 
     /**
@@ -211,14 +512,26 @@ public class AccountDatabase {
      */
     public String printFeeAndInterest()
     {
+        return render(this::printFeeAndInterest);
+    }
+
+    /**
+     * This function prints the monthly fees and interests of all account types in the database, writing each line
+     * to out as soon as it is formatted.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    public void printFeeAndInterest(Appendable out) throws IOException
+    {
+        materialize();
         Account[] accounts = this.accounts;
-        DecimalFormat df = new DecimalFormat("$#,##0.00");
-        StringBuilder s = new StringBuilder();
+        StringBuilder line = new StringBuilder();
         for(int i = 0; i < numAcct; i++)
         {
-            s.append(accounts[i]).append("::fee ").append(df.format(accounts[i].fee())).append("::monthly interest ").append(df.format(accounts[i].monthlyInterest())).append("\n");
+            line.setLength(0);
+            describeWithFeeAndInterest(line, accounts[i]);
+            out.append(line.append("\n"));
         }
-        return s.toString();
     }
 
     /**
@@ -229,43 +542,210 @@ public class AccountDatabase {
      */
     public String printWithUpdatedBalance()
     {
-        updateBalance();
-        return print();
+        return render(this::printWithUpdatedBalance);
     }
 
     /**
-     * This function is a helper to sort all accounts by their type alphabetically.
+     * This function updates every account with the fee and monthly interest and prints it, writing each line to out
+     * as soon as the account is updated. Accounts are updated independently, so updating and printing in one pass
+     * gives the same report as updating all of them first.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
      */
-    private void sortByAccountType()
+    public void printWithUpdatedBalance(Appendable out) throws IOException
     {
+        materialize();
         Account[] accounts = this.accounts;
-        Account temp;
-
-        for(int i = 0; i < this.numAcct; i++)
+        try
         {
-            for(int j = i + 1; j < numAcct; j++)
+            for(int i = 0; i < numAcct; i++)
             {
-
-                if(accounts[i].getType().compareTo(accounts[j].getType()) > 0)
-                {
-                    temp = accounts[i];
-                    accounts[i] = accounts[j];
-                    accounts[j] = temp;
-                }
+                out.append(updateAndDescribe(accounts[i])).append("\n");
             }
         }
+        finally
+        {
+            counters.recount(accounts, numAcct);
+        }
     }
 
     /**
-     * This function is a helper to update the balances after deposits, withdrawals, and closures, fee and monthly interest.
+     * This function is a helper that gives the report line of an account. The line helpers are the only places the
+     * reports read an account, so a subclass can guard each account while its line is formatted.
+     * @param account - the account being described
+     * @return - String representing the account
      */
-    private void updateBalance()
+    String describe(Account account)
     {
-        Account[] accounts = this.accounts;
+        return account.toString();
+    }
+
+    /**
+     * This function is a helper that appends the report line of an account along with its monthly fee and interest.
+     * @param line - where the line is appended
+     * @param account - the account being described
+     */
+    void describeWithFeeAndInterest(StringBuilder line, Account account)
+    {
+        line.append(account.toString()).append("::fee ");
+        MoneyFormat.appendCents(line, account.cachedFeeCents()).append("::monthly interest ");
+        MoneyFormat.appendCents(line, account.cachedMonthlyInterestCents());
+    }
+
+    /**
+     * This function is a helper that updates an account with the fee and monthly interest and gives its report line.
+     * @param account - the account being updated
+     * @return - String representing the updated account
+     */
+    String updateAndDescribe(Account account)
+    {
+        account.updateBalanceWithFeeAndMonthlyInterest();
+        return account.toString();
+    }
+
+    /**
+     * This function prints all account types in the database with the updated balances, updating and rendering the
+     * accounts in parallel on a fork/join pool. Each account is updated independently, and the pieces of the report
+     * are put back together in order, so the result is the same as printWithUpdatedBalance().
+     * @param pool - the pool running the update, its parallelism decides how many accounts are updated at once
+     * @param splitThreshold - the number of accounts a single task updates without splitting further
+     * @return - String representing all the information with the updated balance of each account object in the array line by line
+     */
+    public String printWithUpdatedBalance(ForkJoinPool pool, int splitThreshold)
+    {
+        if(splitThreshold < 1)
+        {
+            throw new IllegalArgumentException("Split threshold must be at least 1: " + splitThreshold);
+        }
+        materialize();
+        if(numAcct == 0)
+        {
+            return "";
+        }
+        StringBuilder[] lines = new StringBuilder[ParallelBalanceUpdate.chunkCount(numAcct, splitThreshold)];
+        try
+        {
+            pool.invoke(new ParallelBalanceUpdate(this, accounts, numAcct, splitThreshold, lines, 0, lines.length));
+        }
+        finally
+        {
+            counters.recount(accounts, numAcct);
+        }
+        int length = 0;
+        for(StringBuilder chunk : lines)
+        {
+            length += chunk.length();
+        }
+        StringBuilder s = new StringBuilder(length);
+        for(StringBuilder chunk : lines)
+        {
+            s.append(chunk);
+        }
+        return s.toString();
+    }
+
+    /**
+     * This function updates every account with the fee and monthly interest without printing anything,
+     * the same update printWithUpdatedBalance makes.
+     */
+    void updateBalances()
+    {
+        materialize();
         for(int i = 0; i < numAcct; i++)
         {
             accounts[i].updateBalanceWithFeeAndMonthlyInterest();
         }
+        counters.recount(accounts, numAcct);
+    }
+
+    /**
+     * This function sets the balance of the first accounts in the order they were opened.
+     * @param balances - balances in cents, one per account starting from the first one opened
+     */
+    void restoreBalances(long[] balances)
+    {
+        materialize();
+        if(balances.length > numAcct)
+        {
+            throw new IllegalArgumentException("Got " + balances.length + " balances, database holds " + numAcct);
+        }
+        for(int i = 0; i < balances.length; i++)
+        {
+            accounts[i].setBalanceCents(balances[i]);
+        }
+        counters.recount(accounts, numAcct);
+    }
+
+    /**
+     * This function copies the state of every account into a columnar store, in the order the accounts were opened,
+     * so a month-end batch can run over primitive arrays instead of Account objects.
+     * @return - ColumnarAccountStore with one row per account in the database
+     */
+    public ColumnarAccountStore toColumnarStore()
+    {
+        materialize();
+        ColumnarAccountStore store = new ColumnarAccountStore(numAcct);
+        for(int i = 0; i < numAcct; i++)
+        {
+            store.add(accounts[i]);
+        }
+        return store;
+    }
+
+    /**
+     * This function writes the balances computed in a columnar store back to the accounts they were copied from.
+     * @param store - store created by toColumnarStore on this database
+     */
+    public void copyBalancesFrom(ColumnarAccountStore store)
+    {
+        materialize();
+        if(store.size() > numAcct)
+        {
+            throw new IllegalArgumentException("Store holds " + store.size() + " accounts, database holds " + numAcct);
+        }
+        store.copyBalancesTo(accounts);
+        counters.recount(accounts, numAcct);
+    }
+
+    /**
+     * This function gives the number of accounts and the total balance of each account type, and the number of
+     * closed accounts, loyal accounts and Money Market withdrawals. The totals are kept up to date by every change,
+     * so this takes constant time however many accounts there are.
+     * @return AccountStatistics holding the totals
+     */
+    public AccountStatistics statistics()
+    {
+        materialize();
+        return counters.statistics();
+    }
+
+    /**
+     * @return AccountCounters which are the running totals behind statistics.
+     */
+    AccountCounters getCounters()
+    {
+        return counters;
+    }
 
+    /**
+     * This function writes a snapshot of every account, so the database can later be created again from it.
+     * @param file - the snapshot file, replaced once the new snapshot is completely on disk
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeSnapshot(Path file) throws IOException
+    {
+        writeSnapshot(file, AccountSnapshot.NO_JOURNAL);
+    }
+
+    /**
+     * This function writes a snapshot of every account that covers the records of a journal generation.
+     * @param file - the snapshot file, replaced once the new snapshot is completely on disk
+     * @param generation - the journal generation the snapshot covers
+     * @throws IOException if the snapshot cannot be written
+     */
+    void writeSnapshot(Path file, long generation) throws IOException
+    {
+        materialize();
+        AccountSnapshot.write(accounts, numAcct, generation, file);
     }
 }
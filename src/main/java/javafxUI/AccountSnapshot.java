@@ -0,0 +1,452 @@
+package javafxUI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AccountSnapshot is a compact binary image of every account in an AccountDatabase, in the order the accounts were
+ * opened. The file holds a 32 byte header, then one fixed-width 32 byte record per account, then the holder names as
+ * UTF-8 bytes. A snapshot is read through FileChannel.map, so loading one only maps the file; each Account is
+ * created from its record the first time it is asked for, and the month-end columns can be read without creating
+ * any Account at all.
+ * Header: int magic, int version, long journal generation, int count, int reserved, long offset of the names.
+ * Record: byte type, byte flags, byte college, byte reserved, int packed date of birth, long balance in cents,
+ * int withdrawals, short first name length, short last name length, long offset of the first name in the names,
+ * followed directly by the last name.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class AccountSnapshot {
+
+    /**
+     * Generation of a snapshot that no journal records follow.
+     */
+    public static final long NO_JOURNAL = -1;
+
+    private static final int MAGIC = 0x42545331;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 32;
+    private static final int MAX_MAPPED_BYTES = Integer.MAX_VALUE;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private static final int TYPE = 0;
+    private static final int FLAGS = 1;
+    private static final int COLLEGE = 2;
+    private static final int DOB = 4;
+    private static final int BALANCE = 8;
+    private static final int WITHDRAWALS = 16;
+    private static final int FIRST_NAME_LENGTH = 20;
+    private static final int LAST_NAME_LENGTH = 22;
+    private static final int NAME_OFFSET = 24;
+
+    private static final byte CLOSED = 1;
+    private static final byte LOYAL = 2;
+    private static final byte NO_COLLEGE = -1;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final ByteBuffer records;
+    private final ByteBuffer names;
+    private final long generation;
+    private final int size;
+    private final Account[] materialized;
+
+    /**
+     * Constructor that wraps the mapped parts of a snapshot file.
+     * @param records - the fixed-width records
+     * @param names - the holder names
+     * @param generation - the journal generation the snapshot covers
+     * @param size - the number of records
+     */
+    private AccountSnapshot(ByteBuffer records, ByteBuffer names, long generation, int size)
+    {
+        this.records = records;
+        this.names = names;
+        this.generation = generation;
+        this.size = size;
+        this.materialized = new Account[size];
+    }
+
+    /**
+     * This function maps a snapshot file. Only the header is read; the records are read as they are used.
+     * @param file - the snapshot file
+     * @return AccountSnapshot backed by the mapped file
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static AccountSnapshot map(Path file) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long fileSize = channel.size();
+            if(fileSize < HEADER_BYTES)
+            {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.BIG_ENDIAN);
+            if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+            {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            long generation = header.getLong(8);
+            int size = header.getInt(16);
+            long namesStart = header.getLong(24);
+            long recordBytes = (long) size * RECORD_BYTES;
+            if(size < 0 || namesStart != HEADER_BYTES + recordBytes || namesStart > fileSize
+                    || fileSize - namesStart > MAX_MAPPED_BYTES)
+            {
+                throw new IOException("Account snapshot is damaged: " + file);
+            }
+            if(recordBytes > MAX_MAPPED_BYTES)
+            {
+                throw new IOException("Account snapshot holds too many accounts to map: " + size);
+            }
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, recordBytes);
+            MappedByteBuffer names = channel.map(FileChannel.MapMode.READ_ONLY, namesStart, fileSize - namesStart);
+            return new AccountSnapshot(records, names, generation, size);
+        }
+    }
+
+    /**
+     * This function gives the file holding the snapshot of a journal generation, named after the generation next to
+     * the snapshot file given, so a new snapshot never replaces one that may still be mapped.
+     * @param file - the snapshot file the generations are named after
+     * @param generation - the journal generation the snapshot covers
+     * @return Path of the snapshot of that generation
+     */
+    static Path fileOf(Path file, long generation)
+    {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    /**
+     * This function finds the snapshot of the latest generation written by fileOf.
+     * @param file - the snapshot file the generations are named after
+     * @return Path of the snapshot of the latest generation, null if there is none
+     * @throws IOException if the directory cannot be read
+     */
+    static Path latest(Path file) throws IOException
+    {
+        Path latest = null;
+        long latestGeneration = Long.MIN_VALUE;
+        for(Path snapshot : generations(file))
+        {
+            long generation = generationOf(file, snapshot);
+            if(generation > latestGeneration)
+            {
+                latest = snapshot;
+                latestGeneration = generation;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * This function deletes the snapshots of the generations before one. A snapshot that cannot be deleted, like
+     * one still mapped on Windows until its buffers are garbage collected, is left for a later call.
+     * @param file - the snapshot file the generations are named after
+     * @param generation - the first generation kept
+     * @throws IOException if the directory cannot be read
+     */
+    static void deleteBefore(Path file, long generation) throws IOException
+    {
+        for(Path snapshot : generations(file))
+        {
+            if(generationOf(file, snapshot) < generation)
+            {
+                try
+                {
+                    Files.deleteIfExists(snapshot);
+                }
+                catch(IOException e)
+                {
+                    //still in use, it is deleted once it no longer is
+                }
+            }
+        }
+    }
+
+    /**
+     * This function is a helper that lists the snapshots named after a snapshot file by fileOf.
+     * @param file - the snapshot file the generations are named after
+     * @return List of the snapshot files found
+     * @throws IOException if the directory cannot be read
+     */
+    private static List<Path> generations(Path file) throws IOException
+    {
+        Path directory = file.toAbsolutePath().getParent();
+        String prefix = file.getFileName() + ".";
+        List<Path> found = new ArrayList<>();
+        if(directory == null || !Files.isDirectory(directory))
+        {
+            return found;
+        }
+        try(DirectoryStream<Path> entries = Files.newDirectoryStream(directory, prefix + "*"))
+        {
+            for(Path entry : entries)
+            {
+                //at most 18 digits, so the generation always fits in a long
+                String suffix = entry.getFileName().toString().substring(prefix.length());
+                if(!suffix.isEmpty() && suffix.length() <= 18 && suffix.chars().allMatch(Character::isDigit))
+                {
+                    found.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * This function is a helper that reads the generation from the name of a snapshot listed by generations.
+     * @param file - the snapshot file the generations are named after
+     * @param snapshot - the snapshot
+     * @return long which is the generation in its name
+     */
+    private static long generationOf(Path file, Path snapshot)
+    {
+        return Long.parseLong(snapshot.getFileName().toString().substring(file.getFileName().toString().length() + 1));
+    }
+
+    /**
+     * This function writes a snapshot of accounts to a temporary file next to the target, forces it to disk and moves
+     * it over the target, so a crash leaves either the old snapshot or the new one. The target must not be mapped,
+     * since a mapped file cannot be replaced on Windows; a JournaledAccountDatabase writes each generation to its own
+     * file for this reason.
+     * @param accounts - the accounts in the order they were opened
+     * @param count - the number of accounts to write from the start of the array
+     * @param generation - the journal generation the snapshot covers, NO_JOURNAL if none
+     * @param file - the snapshot file
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(Account[] accounts, int count, long generation, Path file) throws IOException
+    {
+        if((long) count * RECORD_BYTES > MAX_MAPPED_BYTES)
+        {
+            throw new IllegalArgumentException("Too many accounts for one snapshot: " + count);
+        }
+        byte[][] holderNames = new byte[count * 2][];
+        long namesBytes = 0;
+        for(int i = 0; i < count; i++)
+        {
+            holderNames[2 * i] = encodeName(accounts[i].holder.getFirstName());
+            holderNames[2 * i + 1] = encodeName(accounts[i].holder.getLastName());
+            namesBytes += holderNames[2 * i].length + holderNames[2 * i + 1].length;
+        }
+        if(namesBytes > MAX_MAPPED_BYTES)
+        {
+            throw new IllegalArgumentException("Holder names are too large for one snapshot: " + namesBytes + " bytes");
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(generation).putInt(count).putInt(0)
+                    .putLong(HEADER_BYTES + (long) count * RECORD_BYTES);
+            long nameOffset = 0;
+            for(int i = 0; i < count; i++)
+            {
+                if(buffer.remaining() < RECORD_BYTES)
+                {
+                    drain(channel, buffer);
+                }
+                byte[] fName = holderNames[2 * i];
+                byte[] lName = holderNames[2 * i + 1];
+                putRecord(buffer, accounts[i], fName.length, lName.length, nameOffset);
+                nameOffset += fName.length + lName.length;
+            }
+            for(byte[] name : holderNames)
+            {
+                if(buffer.remaining() < name.length)
+                {
+                    drain(channel, buffer);
+                }
+                if(buffer.remaining() < name.length)
+                {
+                    channel.write(ByteBuffer.wrap(name));
+                }
+                else
+                {
+                    buffer.put(name);
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * This function is a helper that writes the fixed-width record of an account.
+     * @param buffer - where the record is written
+     * @param account - the account
+     * @param fNameLength - length of the first name in bytes
+     * @param lNameLength - length of the last name in bytes
+     * @param nameOffset - offset of the first name in the names
+     */
+    private static void putRecord(ByteBuffer buffer, Account account, int fNameLength, int lNameLength, long nameOffset)
+    {
+        byte type = ColumnarAccountStore.typeOf(account);
+        College college = type == ColumnarAccountStore.COLLEGE_CHECKING ? ((CollegeChecking) account).getCollege() : null;
+        byte flags = 0;
+        if(account.isClosed())
+        {
+            flags |= CLOSED;
+        }
+        if(type == ColumnarAccountStore.SAVINGS && ((Savings) account).isLoyal())
+        {
+            flags |= LOYAL;
+        }
+        int withdrawals = type == ColumnarAccountStore.MONEY_MARKET ? ((MoneyMarket) account).getWithdrawCounter() : 0;
+        buffer.put(type).put(flags).put(college == null ? NO_COLLEGE : (byte) college.ordinal()).put((byte) 0)
+                .putInt(account.holder.getDob().pack())
+                .putLong(account.getBalanceCents())
+                .putInt(withdrawals)
+                .putShort((short) fNameLength).putShort((short) lNameLength)
+                .putLong(nameOffset);
+    }
+
+    /**
+     * This function is a helper that writes out everything in the buffer and clears it.
+     * @param channel - the file being written
+     * @param buffer - the buffered bytes
+     * @throws IOException if the file cannot be written
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * This function is a helper that converts a name to UTF-8.
+     * @param name - the name
+     * @return byte array holding the name
+     */
+    private static byte[] encodeName(String name)
+    {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > MAX_NAME_BYTES)
+        {
+            throw new IllegalArgumentException("Name is too long for a snapshot: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * @return - int which is the number of accounts in the snapshot.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return - long which is the journal generation the snapshot covers, NO_JOURNAL if none.
+     */
+    public long getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * This function gives the account in a row, creating it from its record the first time it is asked for.
+     * The snapshot does not lock, so a snapshot shared between threads must be read by one at a time.
+     * @param row - the row of the account, in the order the accounts were opened
+     * @return Account with the state the account had when the snapshot was written
+     */
+    public Account getAccount(int row)
+    {
+        checkRow(row);
+        Account account = materialized[row];
+        if(account == null)
+        {
+            account = materialize(row);
+            materialized[row] = account;
+        }
+        return account;
+    }
+
+    /**
+     * This function is a helper that creates the account in a row from its record.
+     * @param row - the row of the account
+     * @return Account created from the record
+     */
+    private Account materialize(int row)
+    {
+        int record = row * RECORD_BYTES;
+        byte type = records.get(record + TYPE);
+        byte flags = records.get(record + FLAGS);
+        byte college = records.get(record + COLLEGE);
+        Account account = ColumnarAccountStore.newAccount(type, college == NO_COLLEGE ? null : College.values()[college],
+                (flags & LOYAL) != 0);
+        int fNameLength = Short.toUnsignedInt(records.getShort(record + FIRST_NAME_LENGTH));
+        int lNameLength = Short.toUnsignedInt(records.getShort(record + LAST_NAME_LENGTH));
+        int nameOffset = (int) records.getLong(record + NAME_OFFSET);
+        account.setHolder(decodeName(nameOffset, fNameLength), decodeName(nameOffset + fNameLength, lNameLength),
+                Date.unpack(records.getInt(record + DOB)));
+        account.setBalanceCents(records.getLong(record + BALANCE));
+        account.closed = (flags & CLOSED) != 0;
+        if(type == ColumnarAccountStore.MONEY_MARKET)
+        {
+            ((MoneyMarket) account).setWithdrawCounter(records.getInt(record + WITHDRAWALS));
+        }
+        return account;
+    }
+
+    /**
+     * This function is a helper that reads a name from the names.
+     * @param offset - offset of the name
+     * @param length - length of the name in bytes
+     * @return String representing the name
+     */
+    private String decodeName(int offset, int length)
+    {
+        byte[] bytes = new byte[length];
+        names.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This function copies the month-end state of every account straight from the records into a columnar store,
+     * without creating any Account.
+     * @return ColumnarAccountStore with one row per account in the snapshot
+     */
+    public ColumnarAccountStore toColumnarStore()
+    {
+        ColumnarAccountStore store = new ColumnarAccountStore(size);
+        for(int row = 0; row < size; row++)
+        {
+            int record = row * RECORD_BYTES;
+            byte flags = records.get(record + FLAGS);
+            store.add(records.get(record + TYPE), records.getLong(record + BALANCE), (flags & CLOSED) != 0,
+                    (flags & LOYAL) != 0, records.getInt(record + WITHDRAWALS));
+        }
+        return store;
+    }
+
+    /**
+     * This function is a helper that checks a row is within the snapshot.
+     * @param row - the row being checked
+     */
+    private void checkRow(int row)
+    {
+        if(row < 0 || row >= size)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + " out of 0 to " + size);
+        }
+    }
+}
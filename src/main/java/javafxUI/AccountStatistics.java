@@ -0,0 +1,119 @@
+package javafxUI;
+
+/**
+ * AccountStatistics holds the totals of an AccountDatabase at one moment: the number of accounts and the sum of
+ * their balances for every account type, and the number of closed accounts, loyal accounts and Money Market
+ * withdrawals. The database keeps these totals up to date as accounts change, so getting them takes constant time.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class AccountStatistics {
+
+    private final long[] counts;
+    private final long[] balances;
+    private final long closed;
+    private final long loyal;
+    private final long moneyMarketWithdrawals;
+
+    /**
+     * Constructor that creates the statistics from the totals.
+     * @param counts - the number of accounts of each type, indexed by the ColumnarAccountStore type codes
+     * @param balances - the sum of the balances in cents of each type, indexed the same way
+     * @param closed - the number of closed accounts
+     * @param loyal - the number of loyal accounts
+     * @param moneyMarketWithdrawals - the number of withdrawals counted by Money Market accounts
+     */
+    AccountStatistics(long[] counts, long[] balances, long closed, long loyal, long moneyMarketWithdrawals)
+    {
+        this.counts = counts;
+        this.balances = balances;
+        this.closed = closed;
+        this.loyal = loyal;
+        this.moneyMarketWithdrawals = moneyMarketWithdrawals;
+    }
+
+    /**
+     * This function gives the number of accounts of a type, closed ones included.
+     * @param type - the account type
+     * @return long which is the number of accounts of the type
+     */
+    public long getCount(AccountType type)
+    {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * This function gives the sum of the balances of the accounts of a type.
+     * @param type - the account type
+     * @return long which is the sum of the balances in cents
+     */
+    public long getBalanceCents(AccountType type)
+    {
+        return balances[type.ordinal()];
+    }
+
+    /**
+     * @return - long which is the number of accounts of every type.
+     */
+    public long getTotalCount()
+    {
+        long total = 0;
+        for(long count : counts)
+        {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return - long which is the sum of the balances of every account in cents.
+     */
+    public long getTotalBalanceCents()
+    {
+        long total = 0;
+        for(long balance : balances)
+        {
+            total += balance;
+        }
+        return total;
+    }
+
+    /**
+     * @return - long which is the number of closed accounts.
+     */
+    public long getClosedCount()
+    {
+        return closed;
+    }
+
+    /**
+     * @return - long which is the number of Savings and Money Market accounts that are loyal.
+     */
+    public long getLoyalCount()
+    {
+        return loyal;
+    }
+
+    /**
+     * @return - long which is the number of withdrawals counted by the Money Market accounts.
+     */
+    public long getMoneyMarketWithdrawals()
+    {
+        return moneyMarketWithdrawals;
+    }
+
+    /**
+     * @return a string with the count and total balance of every type, followed by the other totals.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder s = new StringBuilder();
+        for(AccountType type : AccountType.values())
+        {
+            s.append(type.getCode()).append(": ").append(getCount(type)).append(" accounts, balance ");
+            MoneyFormat.appendCents(s, getBalanceCents(type)).append("\n");
+        }
+        return s.append("closed: ").append(closed).append(", loyal: ").append(loyal)
+                .append(", Money Market withdrawals: ").append(moneyMarketWithdrawals).toString();
+    }
+}
@@ -0,0 +1,65 @@
+package javafxUI;
+
+/**
+ * AccountType is an enum class naming the four kinds of account a teller can work with, by the code the teller
+ * window and the batch files use for them: C, CC, S and MM.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public enum AccountType {
+    CHECKING("C", ColumnarAccountStore.CHECKING),
+    COLLEGE_CHECKING("CC", ColumnarAccountStore.COLLEGE_CHECKING),
+    SAVINGS("S", ColumnarAccountStore.SAVINGS),
+    MONEY_MARKET("MM", ColumnarAccountStore.MONEY_MARKET);
+
+    private static final AccountType[] TYPES = values();
+
+    private final String code;
+    private final byte storeCode;
+
+    /**
+     * Constructor of this class.
+     * @param code - String which is the code of the type in the teller window and batch files
+     * @param storeCode - byte which is the code of the type in a ColumnarAccountStore
+     */
+    AccountType(String code, byte storeCode)
+    {
+        this.code = code;
+        this.storeCode = storeCode;
+    }
+
+    /**
+     * @return String which is the code of the type, C, CC, S or MM.
+     */
+    public String getCode()
+    {
+        return code;
+    }
+
+    /**
+     * This function finds the type with a given code.
+     * @param code - the code, C, CC, S or MM
+     * @return AccountType with the code, null if no type has it
+     */
+    public static AccountType fromCode(String code)
+    {
+        for(AccountType type : TYPES)
+        {
+            if(type.code.equals(code))
+            {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This function creates an empty account of this type.
+     * @param college - campus of a College Checking account, null if none was chosen
+     * @param loyal - loyalty of a Savings account
+     * @return Account of this type, with no holder and no balance yet
+     */
+    Account newAccount(College college, boolean loyal)
+    {
+        return ColumnarAccountStore.newAccount(storeCode, college, loyal);
+    }
+}
@@ -1,45 +1,103 @@
 package javafxUI;
 
 
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.RadioButton;
-import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Toggle;
 import javafx.scene.control.ToggleGroup;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
 
 /**
  * This class is what controls all the actions for each button using the inputs given by the
- * user in the GUI
+ * user in the GUI. It turns the inputs into TellerRequests and shows the messages the TellerService
+ * gives back, so the checks themselves live in TellerService. Every request runs on one worker thread, in the
+ * order the buttons were clicked, so the JavaFX Application Thread never waits for the database; only the
+ * messages are shown back on it. While a report is running the report buttons are disabled and the other
+ * requests queue up behind it. The customer search runs as the teller types, on the same worker thread; while
+ * a search is waiting to run only the latest text is kept, so fast typing does not queue up searches. A customer's
+ * accounts and combined balance are listed in the report view, also from the worker thread.
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public class BankTellerController {
 
-    public static final String MISSING_OPENING_DATA = "Missing data for opening an account.";
-    public static final String MISSING_CLOSING_DATA = "Missing data for closing an account.";
-    public static final String MISSING_DEPOSIT_DATA = "Missing data for depositing to an account.";
-    public static final String MISSING_WITHDRAW_DATA = "Missing data for withdrawing from an account.";
-    public AccountDatabase accountDatabase = new AccountDatabase();
+    public static final int LOG_LIMIT = 1000;
+
+    private TellerService tellerService = new TellerService(new AccountDatabase());
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable ->
+    {
+        Thread thread = new Thread(runnable, "teller-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ReportTask runningReport;
+    private final AtomicReference<String> pendingSearch = new AtomicReference<>();
     @FXML
     private ToggleGroup oc_accountType, dw_accountType, collegeChecking;
     @FXML
-    private TextArea output;
+    private ListView<String> reportView, log, searchResults;
     @FXML
     private RadioButton camden, nB, newark;
     @FXML
     private TextField deposit, oc_firstName, oc_lastName;
     @FXML
-    private TextField amount, dw_firstName, dw_lastName;
+    private TextField amount, dw_firstName, dw_lastName, searchName, fc_firstName, fc_lastName;
     @FXML
-    private DatePicker oc_dob, dw_dob;
+    private DatePicker oc_dob, dw_dob, fc_dob;
     @FXML
     private CheckBox loyal;
     @FXML
     private RadioButton oc_collegeC, oc_savings;
+    @FXML
+    private Button printAll, printByType, printFeeInterest, applyFeeInterest, cancelReport;
+    @FXML
+    private ProgressBar reportProgress;
+
+
+    /**
+     * This function is called once the GUI is loaded, and starts searching the customers whenever the text in
+     * the search field changes.
+     */
+    @FXML
+    void initialize()
+    {
+        searchName.textProperty().addListener((property, before, text) -> search(text));
+    }
 
+    /**
+     * This function is a helper that searches the customers for the text in the search field on the worker
+     * thread, then shows the accounts found. A search already waiting to run takes the new text instead of a
+     * second search being queued.
+     * @param text - the text in the search field
+     */
+    private void search(String text)
+    {
+        if(pendingSearch.getAndSet(text == null ? "" : text) != null)
+        {
+            return;
+        }
+        TellerService service = tellerService;
+        worker.execute(() ->
+        {
+            List<String> found = service.searchHolders(pendingSearch.getAndSet(null));
+            Platform.runLater(() -> searchResults.getItems().setAll(found));
+        });
+    }
 
     /**
      * This method corresponds to the radio buttons in the open/close tab
@@ -67,321 +125,156 @@ public class BankTellerController {
     }
 
     /**
-     * This function is a helper that checks if the user's entered first and last name
-     * are valid
-     * @param forOpen - a boolean that is true if it's the case of opening an account
-     * @param forDeposit - a boolean that is true for the case of depositing to an account
-     * @param isOpenClose - a boolean that is true for the case of opening or closing an account
-     * @return - true if first name and last name are valid, false otherwise
+     * This function sets the database the teller works on.
+     * @param accountDatabase - the database the requests are applied to
      */
-    private boolean validateFirstLastNames(boolean isOpenClose, boolean forOpen, boolean forDeposit)
+    void setAccountDatabase(AccountDatabase accountDatabase)
     {
-
-        TextField firstName = isOpenClose ? oc_firstName : dw_firstName;
-        TextField lastName = isOpenClose ? oc_lastName : dw_lastName;
-
-        if(firstName.getText() == null || firstName.getText().isBlank() || lastName.getText() == null || lastName.getText().isBlank())
-        {
-            if(isOpenClose)
-            {
-                output.appendText(forOpen ? MISSING_OPENING_DATA + "\n" : MISSING_CLOSING_DATA + "\n");
-            }
-            else
-            {
-                output.appendText(forDeposit ? MISSING_DEPOSIT_DATA + "\n" : MISSING_WITHDRAW_DATA + "\n");
-            }
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * This function is a helper that checks if the user's entered dob is
-     * in the future or not.
-     * @param isOpenClose - a boolean that is true for the case of opening or closing an account
-     * @return - date object if passes conditions, null if it doesn't
-     */
-    private Date validateAndParseDOB(boolean isOpenClose)
-    {
-
-        try
-        {
-            DatePicker dob = isOpenClose ? oc_dob : dw_dob;
-            Date dOb = new Date(dob.getValue().toString());
-            if(dOb.isInTheFuture())
-            {
-                output.appendText("Date of birth invalid, it's a future date." + "\n");
-                return null;
-            }
-            return dOb;
-        }
-        catch(NullPointerException e)
-        {
-            output.appendText("Missing Date of Birth." + "\n");
-            return null;
-        }
-
-    }
-
-    /**
-     * This function is a helper that populates the account object with the entered profile info in the GUI
-     * @param forOpen - a boolean that is true if it's the case of opening an account
-     * @param isOpenClose - a boolean that is true for the case of opening or closing an account
-     * @param forDeposit - a boolean that is true for the case of depositing to an account
-     * @param account - account being populated
-     * @return - true if account object is successfully populated with holder info, false otherwise
-     */
-    private boolean populateHolder(boolean isOpenClose, boolean forOpen, boolean forDeposit, Account account)
-    {
-        if(!validateFirstLastNames(isOpenClose, forOpen, forDeposit))
-        {
-            return false;
-        }
-        Date dob = validateAndParseDOB(isOpenClose);
-        if(dob == null)
-        {
-            return false;
-        }
-        if(isOpenClose)
-        {
-            account.setHolder(oc_firstName.getText().trim(), oc_lastName.getText().trim(), dob);
-        }
-        else
-        {
-            account.setHolder(dw_firstName.getText().trim(), dw_lastName.getText().trim(), dob);
-        }
-        return true;
+        tellerService = new TellerService(accountDatabase);
     }
 
     /**
-     * This function is a helper that populates the account object with
-     * the entered profile info and initial deposit info from the GUI
-     * @param account - account being populated.
-     * @param isOpenClose - a boolean that is true for the case of opening or closing an account
-     * @param errorMessage - String that represents the error message to give at a certain exception
-     * @return - true if account object is successfully populated with holder and balance info, false
-     * otherwise
+     * This function waits for the request being carried out and the ones queued behind it, after cancelling a
+     * report that can be cancelled. It is called when the window is closed, before the database is.
      */
-    private boolean populateHolderAndBalance(boolean isOpenClose, Account account, String errorMessage)
+    void shutdown()
     {
-        if(!populateHolder(isOpenClose,true, false, account))
+        if(runningReport != null && runningReport.isCancellable())
         {
-            return false;
+            runningReport.cancel();
         }
-
-        double balance;
-        TextField amt = isOpenClose ? deposit : amount;
+        worker.shutdown();
         try
         {
-            balance = Double.parseDouble(amt.getText());
+            worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
         }
-        catch (Exception e)
+        catch(InterruptedException e)
         {
-            output.appendText("Amount can't be blank or invalid." + "\n");
-            return false;
+            Thread.currentThread().interrupt();
         }
-        if(balance <= 0d)
-        {
-            output.appendText(errorMessage + "\n");
-            return false;
-        }
-        account.setBalance(balance);
-        return true;
     }
 
-
-
     /**
-     * This function is a helper that checks if account exists or closed before opening an account.
-     * @param newAccount - account being opened.
+     * This function is a helper that carries out a request on the worker thread, then shows its message on the
+     * JavaFX Application Thread. A request that fails, like when the journal cannot be written, is reported in the
+     * log instead of silently ending the worker thread.
+     * @param request - the request, read from the input fields before it is queued
      */
-    private void checkExistingAndOpenAccount(Account newAccount)
+    private void submit(Supplier<TellerResult> request)
     {
-
-        if(!populateHolderAndBalance(true, newAccount,"Initial deposit cannot be 0 or negative."))
+        worker.execute(() ->
         {
-            return;
-        }
-        Date dob = new Date(oc_dob.getValue().toString());
-        Account existing = accountDatabase.getAccountIfExists(newAccount);
-        if(existing != null)
-        {
-            if(!existing.isClosed() || !existing.getType().equals(newAccount.getType()))
-            {
-                output.appendText(oc_firstName.getText() + " " + oc_lastName.getText() + " " + dob + " " + " same account(type) is in the database." + "\n");
-            }
-            else
+            try
             {
-                accountDatabase.reOpen(newAccount);
-                output.appendText("Account reopened." + "\n");
+                TellerResult result = request.get();
+                Platform.runLater(() -> show(result));
             }
-        }
-        else
-        {
-            if(newAccount instanceof MoneyMarket)
+            catch(RuntimeException e)
             {
-                MoneyMarket moneyMarket = (MoneyMarket) newAccount;
-                if(!moneyMarket.hasMinimumInitialDeposit())
-                {
-                    output.appendText("Minimum of $" + MoneyMarket.ExpectedBalance + " to open a MoneyMarket account." + "\n");
-                    return;
-                }
-
+                Platform.runLater(() -> log("Request failed: " + e.getMessage()));
             }
-            accountDatabase.open(newAccount);
-            output.appendText("Account opened." + "\n");
-        }
+        });
     }
 
     /**
-     * This method corresponds to the open button in the GUI. Opens an account when
-     * button is clicked depending on the user's entered input.
+     * This function is a helper that shows the message of a request in the log.
+     * @param result - the result holding the message
      */
-    @FXML
-    void open()
+    private void show(TellerResult result)
     {
-        RadioButton selectedRadioButton = (RadioButton) oc_accountType.getSelectedToggle();
-        switch (selectedRadioButton.getId())
-        {
-            case "C" -> caseCheckingForOpen();
-            case "CC" -> caseCollegeCheckingForOpen();
-            case "S" -> caseSavingsForOpen();
-            case "MM" -> caseMoneyMarketForOpen();
-            default -> output.appendText("Invalid Account Type" + "\n");
-        }
+        log(result.getMessage());
     }
 
     /**
-     * This function is used to open a Checking account.
+     * This function is a helper that adds a message to the end of the log, dropping the oldest message once the
+     * log holds LOG_LIMIT of them, so a long session does not keep every message.
+     * @param message - the message being added
      */
-    private void caseCheckingForOpen()
+    private void log(String message)
     {
-        Checking checking = new Checking();
-        checkExistingAndOpenAccount(checking);
-    }
-
-    /**
-     * This function is used to open a College Checking account.
-     */
-    private void caseCollegeCheckingForOpen()
-    {
-        RadioButton selectedRadioButton = (RadioButton) collegeChecking.getSelectedToggle();
-        College college = College.valueOf(selectedRadioButton.getId());
-        CollegeChecking collegeChecking = new CollegeChecking(college);
-        checkExistingAndOpenAccount(collegeChecking);
-
+        List<String> messages = log.getItems();
+        if(messages.size() == LOG_LIMIT)
+        {
+            messages.remove(0);
+        }
+        messages.add(message);
+        log.scrollTo(messages.size() - 1);
     }
 
     /**
-     * This function is used to open a Savings account.
+     * This function is a helper that gives the account type of the selected radio button.
+     * @param accountType - the toggle group of the account type radio buttons
+     * @return AccountType of the selected button, null if none is selected
      */
-    private void caseSavingsForOpen()
+    private static AccountType selectedType(ToggleGroup accountType)
     {
-        boolean loyalty;
-        Savings savings = new Savings();
-        loyalty = loyal.isSelected();
-        savings.setLoyalty(loyalty);
-        checkExistingAndOpenAccount(savings);
+        Toggle selected = accountType.getSelectedToggle();
+        return selected == null ? null : AccountType.fromCode(((RadioButton) selected).getId());
     }
 
     /**
-     * This function is used to open a Money Market account.
+     * This function is a helper that gives the date of birth entered in a date picker.
+     * @param dob - the date picker
+     * @return Date entered, null if none was entered
      */
-    private void caseMoneyMarketForOpen()
+    private static Date enteredDob(DatePicker dob)
     {
-        MoneyMarket savings = new MoneyMarket();
-        checkExistingAndOpenAccount(savings);
-
+        return dob.getValue() == null ? null : Date.parse(dob.getValue().toString());
     }
 
     /**
-     * This function corresponds to the close button in the GUI. Closes an account when
-     * button is clicked depending on the user's entered input.
+     * This function is a helper that reads an amount in dollars entered in a text field.
+     * @param amount - the text field
+     * @return long holding the amount in cents, TellerRequest.INVALID_AMOUNT if it is blank or not a number
      */
-    @FXML
-    void close()
+    private static long enteredCents(TextField amount)
     {
-        RadioButton selectedRadioButton = (RadioButton) oc_accountType.getSelectedToggle();
-        switch (selectedRadioButton.getId())
-        {
-            case "C" -> caseCheckingForClose();
-            case "CC" -> caseCollegeCheckingForClose();
-            case "S" -> caseSavingsForClose();
-            case "MM" -> caseMoneyMarketForClose();
-            default -> output.appendText("Invalid Account Type" + "\n");
-        }
-
-    }
-
-    /**
-     * This function is a helper that checks if account exists or already closed
-     * before closing an account.
-     * @param account - account being closed
-     */
-    private void closeExistingAccount(Account account)
-    {
-
-
-        if(!populateHolder(true,false, false, account))
-        {
-            return;
-        }
-        Date dob = new Date(oc_dob.getValue().toString());
-        Account existing = accountDatabase.getAccountIfExists(account);
-        if(existing != null && existing.getType().equals(account.getType()))
+        try
         {
-            if(!existing.isClosed())
-            {
-                accountDatabase.close(existing);
-                output.appendText("Account closed."+ "\n");
-            }
-            else
-            {
-                output.appendText("Account is closed already." + "\n");
-            }
+            return Money.toCents(Double.parseDouble(amount.getText()));
         }
-        else
+        catch (Exception e)
         {
-            output.appendText(oc_firstName.getText() + " " + oc_lastName.getText() + " " + dob + " " + account.getShortType() + " is not in the database." + "\n");
+            return TellerRequest.INVALID_AMOUNT;
         }
-
-    }
-
-    /**
-     * This function is used to close a Checking account.
-     */
-    private void caseCheckingForClose()
-    {
-        Checking checking = new Checking();
-        closeExistingAccount(checking);
     }
 
     /**
-     * This function is used to close a College Checking account.
+     * This method corresponds to the open button in the GUI. Opens an account when
+     * button is clicked depending on the user's entered input.
      */
-    private void caseCollegeCheckingForClose()
+    @FXML
+    void open()
     {
-        CollegeChecking ClgCheck = new CollegeChecking();
-        closeExistingAccount(ClgCheck);
-
+        Toggle campus = collegeChecking.getSelectedToggle();
+        College college = campus == null ? null : College.valueOf(((RadioButton) campus).getId());
+        TellerRequest.Open request = new TellerRequest.Open(selectedType(oc_accountType), oc_firstName.getText(),
+                oc_lastName.getText(), enteredDob(oc_dob), enteredCents(deposit), college, loyal.isSelected());
+        TellerService service = tellerService;
+        submit(() -> service.open(request));
     }
 
     /**
-     * This function is used to close a Savings account.
+     * This function corresponds to the close button in the GUI. Closes an account when
+     * button is clicked depending on the user's entered input.
      */
-    private void caseSavingsForClose()
+    @FXML
+    void close()
     {
-        Savings savings = new Savings();
-        closeExistingAccount(savings);
+        TellerRequest.Close request = new TellerRequest.Close(selectedType(oc_accountType), oc_firstName.getText(),
+                oc_lastName.getText(), enteredDob(oc_dob));
+        TellerService service = tellerService;
+        submit(() -> service.close(request));
     }
 
     /**
-     * This function is used to close a Money Market account.
+     * This function is a helper that reads the deposit/withdraw tab into a request.
+     * @return TellerRequest.Transaction holding the entered account type, holder and amount
      */
-    private void caseMoneyMarketForClose()
+    private TellerRequest.Transaction transaction()
     {
-        MoneyMarket moneyMarket = new MoneyMarket();
-        closeExistingAccount(moneyMarket);
+        return new TellerRequest.Transaction(selectedType(dw_accountType), dw_firstName.getText(), dw_lastName.getText(),
+                enteredDob(dw_dob), enteredCents(amount));
     }
 
     /**
@@ -391,184 +284,123 @@ public class BankTellerController {
     @FXML
     void deposit()
     {
-        RadioButton selectedRadioButton = (RadioButton) dw_accountType.getSelectedToggle();
-        switch (selectedRadioButton.getId())
-        {
-            case "C" -> caseCheckingForDeposit();
-            case "CC" -> caseCollegeCheckingForDeposit();
-            case "S" -> caseSavingsForDeposit();
-            case "MM" -> caseMoneyMarketForDeposit();
-            default -> output.appendText("Invalid Account Type" + "\n");
-        }
-    }
-
-    /**
-     * This function is a helper that checks if account exists or closed before depositing an amount to an account.
-     * @param account - account being deposited to.
-     */
-    private void depositToAccount(Account account)
-    {
-
-
-        if(!populateHolder(false, false, true, account))
-        {
-            return;
-        }
-        if(!populateHolderAndBalance(false, account,"Deposit - amount cannot be 0 or negative."))
-        {
-            return;
-        }
-        Date dob = new Date(dw_dob.getValue().toString());
-        Account existing = accountDatabase.getAccountIfExists(account);
-        if(existing != null && existing.getType().equals(account.getType()))
-        {
-            if(!existing.isClosed())
-            {
-                accountDatabase.deposit(account);
-                output.appendText("Deposit - balance updated." + "\n");
-            }
-            else
-            {
-                output.appendText("Cannot deposit into a closed account." + "\n");
-            }
-        }
-        else
-        {
-            output.appendText(dw_firstName.getText() + " " + dw_lastName.getText() + " " + dob + " " + account.getShortType() + " is not in the database." + "\n");
-        }
-
-    }
-
-    /**
-     * This function is used to deposit to a College Checking account.
-     */
-    private void caseCollegeCheckingForDeposit()
-    {
-        CollegeChecking clgCheck = new CollegeChecking();
-        depositToAccount(clgCheck);
-
-    }
-
-    /**
-     * This function is used to deposit to a Checking account.
-     */
-    private void caseCheckingForDeposit()
-    {
-        Checking checking = new Checking();
-        depositToAccount(checking);
-    }
-
-    /**
-     * This function is used to deposit to a Savings account.
-     */
-    private void caseSavingsForDeposit()
-    {
-        Savings savings = new Savings();
-        depositToAccount(savings);
+        TellerRequest.Transaction request = transaction();
+        TellerService service = tellerService;
+        submit(() -> service.deposit(request));
     }
 
     /**
-     * This function is used to deposit to a Money Market account.
+     * This function corresponds to the withdraw button in the GUI. Withdraws from an account when
+     * button is clicked depending on the user's entered input.
      */
-    private void caseMoneyMarketForDeposit()
+    @FXML
+    void withdraw()
     {
-        MoneyMarket moneyMarket = new MoneyMarket();
-        depositToAccount(moneyMarket);
+        TellerRequest.Transaction request = transaction();
+        TellerService service = tellerService;
+        submit(() -> service.withdraw(request));
     }
 
     /**
-     * This function corresponds to the withdraw button in the GUI. Withdraws from an account when
-     * button is clicked depending on the user's entered input.
+     * This function corresponds to the show accounts button in the find customer tab. Lists every account of the
+     * entered customer and their combined balance in the report view when button is clicked.
      */
     @FXML
-    void withdraw()
+    void showCustomer()
     {
-        RadioButton selectedRadioButton = (RadioButton) dw_accountType.getSelectedToggle();
-        switch (selectedRadioButton.getId())
+        String firstName = fc_firstName.getText();
+        String lastName = fc_lastName.getText();
+        Date dob = enteredDob(fc_dob);
+        TellerService service = tellerService;
+        submit(() ->
         {
-            case "C" -> caseCheckingForWithdraw();
-            case "CC" -> caseCollegeCheckingForWithdraw();
-            case "S" -> caseSavingsForWithdraw();
-            case "MM" -> caseMoneyMarketForWithdraw();
-            default -> output.appendText("Invalid Account Type" + "\n");
-        }
+            List<String> lines = new ArrayList<>();
+            TellerResult result = service.describeCustomer(firstName, lastName, dob, lines);
+            if(result.isApplied())
+            {
+                Platform.runLater(() -> reportView.setItems(FXCollections.observableList(lines)));
+            }
+            return result;
+        });
     }
 
     /**
-     * This function is a helper that checks if account exists or closed and if
-     * the amount being withdrawn is sufficient before withdrawing an amount from an account.
-     * @param account - account being withdrawn.
+     * This function is a helper that starts one of the reports on the worker thread. The report buttons are
+     * disabled until it is done, and the report or the reason it could not be written is shown when it is.
+     * @param report - the report being shown
      */
-    private void withDrawFromAccount(Account account)
+    private void report(TellerService.Report report)
     {
-
-
-        if(!populateHolderAndBalance(false, account, "Withdraw - amount cannot be 0 or negative."))
+        if(runningReport != null)
         {
+            log("A report is already running.");
             return;
         }
-        Date dob = new Date(dw_dob.getValue().toString());
-        Account existing = accountDatabase.getAccountIfExists(account);
-        if(existing != null && existing.getType().equals(account.getType()))
+        ReportTask task = new ReportTask(tellerService, report);
+        runningReport = task;
+        setReportButtonsDisabled(true);
+        cancelReport.setDisable(!task.isCancellable());
+        reportProgress.progressProperty().bind(task.progressProperty());
+        task.setOnSucceeded(event ->
         {
-            if(!existing.isClosed())
+            if(task.getValue() == null)
             {
-                if(accountDatabase.withdraw(account))
-                {
-                    output.appendText("Withdraw - balance updated." + "\n");
-                }
-                else
-                {
-                    output.appendText("Withdraw - insufficient fund." + "\n");
-                }
+                log(task.getRefusal());
             }
             else
             {
-                output.appendText("Cannot withdraw from a closed account." + "\n");
+                reportView.setItems(FXCollections.observableList(task.getValue()));
             }
-        }
-        else
+            reportDone();
+        });
+        task.setOnCancelled(event ->
         {
-            output.appendText(dw_firstName.getText() + " " + dw_lastName.getText() + " " + dob + " " + account.getShortType() + " is not in the database." + "\n");
-        }
-
-    }
-
-    /**
-     * This function is used to withdraw an amount from a Checking account.
-     */
-    private void caseCheckingForWithdraw()
-    {
-        Checking checking = new Checking();
-        withDrawFromAccount(checking);
-
+            log("Report cancelled.");
+            reportDone();
+        });
+        task.setOnFailed(event ->
+        {
+            log("Report failed: " + task.getException().getMessage());
+            reportDone();
+        });
+        worker.execute(task);
     }
 
     /**
-     * This function is used to withdraw an amount from a College Checking account.
+     * This function is a helper that enables the report buttons again once a report is done.
      */
-    private void caseCollegeCheckingForWithdraw()
+    private void reportDone()
     {
-        CollegeChecking clgCheck = new CollegeChecking();
-        withDrawFromAccount(clgCheck);
+        runningReport = null;
+        reportProgress.progressProperty().unbind();
+        reportProgress.setProgress(0);
+        cancelReport.setDisable(true);
+        setReportButtonsDisabled(false);
     }
 
     /**
-     * This function is used to withdraw an amount from a Savings account.
+     * This function is a helper that disables or enables the four report buttons.
+     * @param disabled - true to disable the buttons
      */
-    private void caseSavingsForWithdraw()
+    private void setReportButtonsDisabled(boolean disabled)
     {
-        Savings savings = new Savings();
-        withDrawFromAccount(savings);
+        printAll.setDisable(disabled);
+        printByType.setDisable(disabled);
+        printFeeInterest.setDisable(disabled);
+        applyFeeInterest.setDisable(disabled);
     }
 
     /**
-     * This function is used to withdraw an amount from a Money Market account.
+     * This function corresponds to the cancel button in the GUI. Stops the running report if it only reads
+     * the accounts.
      */
-    private void caseMoneyMarketForWithdraw()
+    @FXML
+    void cancelReport()
     {
-        MoneyMarket moneyMarket = new MoneyMarket();
-        withDrawFromAccount(moneyMarket);
+        if(runningReport != null && runningReport.isCancellable())
+        {
+            runningReport.cancel();
+        }
     }
 
     /**
@@ -578,14 +410,7 @@ public class BankTellerController {
     @FXML
     void print()
     {
-        if(accountDatabase.getNumAcct() > 0)
-        {
-            output.appendText("\n" + "*list of accounts in the database*" + "\n" + accountDatabase.print() + "*end of list*" + "\n\n");
-        }
-        else
-        {
-            output.appendText("Account Database is empty!" + "\n");
-        }
+        report(TellerService.Report.ACCOUNTS);
     }
 
     /**
@@ -595,14 +420,7 @@ public class BankTellerController {
     @FXML
     void printByAccountType()
     {
-        if(accountDatabase.getNumAcct() > 0)
-        {
-            output.appendText("\n" + "*list of accounts by account type." + "\n" + accountDatabase.printByAccountType() + "*end of list." + "\n\n");
-        }
-        else
-        {
-            output.appendText("Account Database is empty!" + "\n");
-        }
+        report(TellerService.Report.BY_ACCOUNT_TYPE);
     }
 
     /**
@@ -612,14 +430,7 @@ public class BankTellerController {
     @FXML
     void printWithFeeAndInterest()
     {
-        if(accountDatabase.getNumAcct() > 0)
-        {
-            output.appendText("\n" + "*list of accounts with fee and monthly interest" + "\n" + accountDatabase.printFeeAndInterest() + "*end of list." + "\n\n");
-        }
-        else
-        {
-            output.appendText("Account Database is empty!" + "\n");
-        }
+        report(TellerService.Report.FEE_AND_INTEREST);
     }
 
     /**
@@ -630,16 +441,7 @@ public class BankTellerController {
     @FXML
     void updateBalance()
     {
-        if(accountDatabase.getNumAcct() > 0)
-        {
-            output.appendText("\n" + "*list of accounts with updated balance" + "\n" + accountDatabase.printWithUpdatedBalance() + "*end of list." + "\n\n");
-
-        }
-        else
-        {
-            output.appendText("Account Database is empty!" + "\n");
-        }
+        report(TellerService.Report.UPDATED_BALANCE);
     }
 
-}
-
+}
\ No newline at end of file
@@ -6,24 +6,61 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * This class has the main function of the program. It starts the BankTellerView.fxml GUI by calling it
- * and sets the scene of the GUI with the specified dimensions and title.
+ * and sets the scene of the GUI with the specified dimensions and title. When the bankteller.journal system
+ * property names a file, the teller works on a JournaledAccountDatabase rebuilt from that journal and the
+ * snapshot next to it, and a new snapshot is written when the window is closed.
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public class BankTellerMain extends Application {
+
+    public static final String JOURNAL_PROPERTY = "bankteller.journal";
+    public static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private JournaledAccountDatabase journaled;
+    private BankTellerController controller;
+
     @Override
     public void start(Stage stage) throws IOException {
 
         FXMLLoader fxmlLoader = new FXMLLoader(BankTellerMain.class.getResource("BankTellerView.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 800, 800);
+        controller = fxmlLoader.getController();
+        String journal = System.getProperty(JOURNAL_PROPERTY);
+        if(journal != null)
+        {
+            journaled = JournaledAccountDatabase.open(Path.of(journal), Path.of(journal + SNAPSHOT_SUFFIX));
+            controller.setAccountDatabase(journaled);
+        }
         stage.setTitle("Welcome to Online Banking!");
         stage.setScene(scene);
         stage.show();
     }
 
+    /**
+     * This function waits for the requests still queued when the window is closed, then writes a snapshot and
+     * closes the journal.
+     * @throws IOException if the snapshot or the journal could not be written
+     */
+    @Override
+    public void stop() throws IOException {
+        controller.shutdown();
+        if(journaled != null)
+        {
+            try
+            {
+                journaled.checkpoint();
+            }
+            finally
+            {
+                journaled.close();
+            }
+        }
+    }
+
     public static void main(String[] args) {
         launch();
     }
-}
\ No newline at end of file
+}
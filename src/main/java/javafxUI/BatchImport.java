@@ -0,0 +1,402 @@
+package javafxUI;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * BatchImport applies a file of teller commands to an AccountDatabase without the teller window, one command per
+ * line in the classic transaction format:
+ * O type first last dob amount [campus code | loyal], C type first last dob, D type first last dob amount,
+ * W type first last dob amount, and P, PT, PI and UB for the four reports. The type is C, CC, S or MM, the date of
+ * birth is mm/dd/yyyy or yyyy-mm-dd, the campus code is 0 for New Brunswick, 1 for Newark and 2 for Camden, and
+ * loyal is 1 or 0. Each command is carried out by a TellerService, so it gets the same checks and messages as the
+ * teller window. The file is read through a channel into a reused buffer and each line is split by a reused
+ * LineTokenizer, and every line that is refused is written to an error report with its line number.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class BatchImport {
+
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+    private static final int INITIAL_LINE_BYTES = 256;
+
+    private static final String INVALID_DOB = "Date of birth invalid.";
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final College[] COLLEGES = College.values();
+
+    private final TellerService tellerService;
+    private final LineTokenizer tokens = new LineTokenizer();
+    private byte[] line = new byte[INITIAL_LINE_BYTES];
+    private int lineLength;
+    private long lineNumber;
+    private long commands;
+    private long errors;
+    private Appendable out;
+    private Appendable errorReport;
+
+    /**
+     * Constructor that creates a batch engine applying commands to a database.
+     * @param accountDatabase - the database the commands are applied to
+     */
+    public BatchImport(AccountDatabase accountDatabase)
+    {
+        this.tellerService = new TellerService(accountDatabase);
+    }
+
+    /**
+     * This function applies every command in a file.
+     * @param file - the command file
+     * @param out - where the message of every command and the reports are written
+     * @param errorReport - where every refused line is written with its line number and the reason
+     * @throws IOException if the file cannot be read or out or errorReport cannot be written
+     */
+    public void process(Path file, Appendable out, Appendable errorReport) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            process(channel, out, errorReport);
+        }
+    }
+
+    /**
+     * This function applies every command read from a channel, until the channel is exhausted.
+     * @param input - the channel the commands are read from
+     * @param out - where the message of every command and the reports are written
+     * @param errorReport - where every refused line is written with its line number and the reason
+     * @throws IOException if the channel cannot be read or out or errorReport cannot be written
+     */
+    public void process(ReadableByteChannel input, Appendable out, Appendable errorReport) throws IOException
+    {
+        this.out = out;
+        this.errorReport = errorReport;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        byte[] bytes = buffer.array();
+        lineLength = 0;
+        while(input.read(buffer) >= 0)
+        {
+            int limit = buffer.position();
+            int start = 0;
+            for(int i = 0; i < limit; i++)
+            {
+                if(bytes[i] == '\n')
+                {
+                    appendToLine(bytes, start, i);
+                    processLine();
+                    start = i + 1;
+                }
+            }
+            appendToLine(bytes, start, limit);
+            buffer.clear();
+        }
+        if(lineLength > 0)
+        {
+            processLine();
+        }
+    }
+
+    /**
+     * This function is a helper that adds bytes read from the channel to the current line.
+     * @param bytes - the read buffer
+     * @param from - first byte, inclusive
+     * @param to - last byte, exclusive
+     */
+    private void appendToLine(byte[] bytes, int from, int to)
+    {
+        int length = to - from;
+        if(lineLength + length > line.length)
+        {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(bytes, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    /**
+     * This function is a helper that runs the command on the current line. Blank lines are skipped.
+     * @throws IOException if out or errorReport cannot be written
+     */
+    private void processLine() throws IOException
+    {
+        lineNumber++;
+        tokens.reset(line, lineLength);
+        lineLength = 0;
+        if(tokens.count() == 0)
+        {
+            return;
+        }
+        commands++;
+        String error;
+        if(tokens.is(0, "O"))
+        {
+            error = open();
+        }
+        else if(tokens.is(0, "C"))
+        {
+            error = close();
+        }
+        else if(tokens.is(0, "D"))
+        {
+            error = deposit();
+        }
+        else if(tokens.is(0, "W"))
+        {
+            error = withdraw();
+        }
+        else if(tokens.is(0, "P"))
+        {
+            error = report(TellerService.Report.ACCOUNTS);
+        }
+        else if(tokens.is(0, "PT"))
+        {
+            error = report(TellerService.Report.BY_ACCOUNT_TYPE);
+        }
+        else if(tokens.is(0, "PI"))
+        {
+            error = report(TellerService.Report.FEE_AND_INTEREST);
+        }
+        else if(tokens.is(0, "UB"))
+        {
+            error = report(TellerService.Report.UPDATED_BALANCE);
+        }
+        else
+        {
+            error = "Invalid command!";
+        }
+        if(error != null)
+        {
+            fail(error);
+        }
+    }
+
+    /**
+     * This function is a helper that writes the message of a refused line to out and to the error report.
+     * @param error - the reason the line was refused
+     * @throws IOException if out or errorReport cannot be written
+     */
+    private void fail(String error) throws IOException
+    {
+        errors++;
+        out.append(error).append('\n');
+        errorReport.append("line ").append(Long.toString(lineNumber)).append(": ").append(error).append('\n');
+    }
+
+    /**
+     * This function is a helper that gives the account type named by the type token.
+     * @return AccountType named, null if the token is not a type code
+     */
+    private AccountType readType()
+    {
+        for(AccountType type : ACCOUNT_TYPES)
+        {
+            if(tokens.is(1, type.getCode()))
+            {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This function is a helper that reads the date of birth token.
+     * @return Date of birth, null if the token is not a valid date
+     */
+    private Date readDob()
+    {
+        long packed = tokens.parseDate(4);
+        Date dob = packed == LineTokenizer.INVALID ? null : Date.unpack((int) packed);
+        return dob == null || !dob.isValid() ? null : dob;
+    }
+
+    /**
+     * This function is a helper that reads the amount token.
+     * @return long holding the amount in cents, TellerRequest.INVALID_AMOUNT if it is not a number
+     */
+    private long readCents()
+    {
+        long cents = tokens.parseCents(5);
+        return cents == LineTokenizer.INVALID ? TellerRequest.INVALID_AMOUNT : cents;
+    }
+
+    /**
+     * This function is a helper that writes the message of a request that was carried out, or refuses the line.
+     * @param result - the result of the request
+     * @return String holding the reason the line was refused, null if the request was applied
+     * @throws IOException if out cannot be written
+     */
+    private String outcome(TellerResult result) throws IOException
+    {
+        if(!result.isApplied())
+        {
+            return result.getMessage();
+        }
+        out.append(result.getMessage()).append('\n');
+        return null;
+    }
+
+    /**
+     * This function opens or reopens an account.
+     * @return String holding the reason the line was refused, null if it was applied
+     * @throws IOException if out cannot be written
+     */
+    private String open() throws IOException
+    {
+        if(tokens.count() < 6)
+        {
+            return TellerService.MISSING_OPENING_DATA;
+        }
+        Date dob = readDob();
+        if(dob == null)
+        {
+            return INVALID_DOB;
+        }
+        AccountType type = readType();
+        College campus = null;
+        boolean loyal = false;
+        if(type == AccountType.COLLEGE_CHECKING)
+        {
+            long code = tokens.count() > 6 ? tokens.parseWhole(6) : LineTokenizer.INVALID;
+            campus = code == LineTokenizer.INVALID || code >= COLLEGES.length ? null : COLLEGES[(int) code];
+        }
+        else if(type == AccountType.SAVINGS)
+        {
+            long code = tokens.count() > 6 ? tokens.parseWhole(6) : LineTokenizer.INVALID;
+            if(code != 0 && code != 1)
+            {
+                return "Invalid loyal customer code.";
+            }
+            loyal = code == 1;
+        }
+        return outcome(tellerService.open(new TellerRequest.Open(type, tokens.string(2), tokens.string(3), dob,
+                readCents(), campus, loyal)));
+    }
+
+    /**
+     * This function closes an account.
+     * @return String holding the reason the line was refused, null if it was applied
+     * @throws IOException if out cannot be written
+     */
+    private String close() throws IOException
+    {
+        if(tokens.count() < 5)
+        {
+            return TellerService.MISSING_CLOSING_DATA;
+        }
+        Date dob = readDob();
+        if(dob == null)
+        {
+            return INVALID_DOB;
+        }
+        return outcome(tellerService.close(new TellerRequest.Close(readType(), tokens.string(2), tokens.string(3), dob)));
+    }
+
+    /**
+     * This function is a helper that reads a deposit or withdrawal.
+     * @param missingData - the message when tokens are missing
+     * @return TellerRequest.Transaction read from the line, null if the line was refused
+     * @throws IOException if out or errorReport cannot be written
+     */
+    private TellerRequest.Transaction readTransaction(String missingData) throws IOException
+    {
+        if(tokens.count() < 6)
+        {
+            fail(missingData);
+            return null;
+        }
+        Date dob = readDob();
+        if(dob == null)
+        {
+            fail(INVALID_DOB);
+            return null;
+        }
+        return new TellerRequest.Transaction(readType(), tokens.string(2), tokens.string(3), dob, readCents());
+    }
+
+    /**
+     * This function deposits an amount to an account.
+     * @return String holding the reason the line was refused, null if it was applied
+     * @throws IOException if out or errorReport cannot be written
+     */
+    private String deposit() throws IOException
+    {
+        TellerRequest.Transaction request = readTransaction(TellerService.MISSING_DEPOSIT_DATA);
+        return request == null ? null : outcome(tellerService.deposit(request));
+    }
+
+    /**
+     * This function withdraws an amount from an account.
+     * @return String holding the reason the line was refused, null if it was applied
+     * @throws IOException if out or errorReport cannot be written
+     */
+    private String withdraw() throws IOException
+    {
+        TellerRequest.Transaction request = readTransaction(TellerService.MISSING_WITHDRAW_DATA);
+        return request == null ? null : outcome(tellerService.withdraw(request));
+    }
+
+    /**
+     * This function writes one of the reports between its header and footer, the same as the teller window.
+     * @param report - the report
+     * @return String holding the reason the line was refused, null if the report was written
+     * @throws IOException if out cannot be written
+     */
+    private String report(TellerService.Report report) throws IOException
+    {
+        TellerResult result = tellerService.report(report, out);
+        return result.isApplied() ? null : result.getMessage();
+    }
+
+    /**
+     * @return - long which is the number of lines read, including blank ones.
+     */
+    public long getLinesRead()
+    {
+        return lineNumber;
+    }
+
+    /**
+     * @return - long which is the number of commands run, refused ones included.
+     */
+    public long getCommandCount()
+    {
+        return commands;
+    }
+
+    /**
+     * @return - long which is the number of commands that were refused.
+     */
+    public long getErrorCount()
+    {
+        return errors;
+    }
+
+    /**
+     * This function runs a command file against a new database from the command line, writing the messages and
+     * reports to standard output and the error report to standard error.
+     * @param args - the command file
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if(args.length != 1)
+        {
+            System.err.println("Usage: BatchImport <command file>");
+            System.exit(2);
+        }
+        BatchImport batch = new BatchImport(new AccountDatabase());
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        Writer errorReport = new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+        batch.process(Path.of(args[0]), out, errorReport);
+        out.flush();
+        errorReport.append(Long.toString(batch.getCommandCount())).append(" commands, ")
+                .append(Long.toString(batch.getErrorCount())).append(" refused.\n");
+        errorReport.flush();
+    }
+}
@@ -9,11 +9,10 @@ package javafxUI;
 public class Checking extends Account
 {
 
-    private static final double ANNUAL_INTEREST = 0.1;
+    static final long ANNUAL_INTEREST_BASIS_POINTS = 10;
     private static final String ACCOUNT_TYPE = "Checking";
-    private static final int MINIMUM_BALANCE_TO_WAIVE_FEE = 1000;
-    private static final int MONTHLY_FEE = 25;
-    private static final int INTEREST_PERCENT_DIVIDED_BY_TOTAL_MONTHS = 1200;
+    static final int MINIMUM_BALANCE_TO_WAIVE_FEE = 1000;
+    static final int MONTHLY_FEE = 25;
 
     /**
      * Checks if the passed in object is an instance of Checking or not, overrides method in Account class.
@@ -32,44 +31,55 @@ public class Checking extends Account
         return false;
     }
 
+    /**
+     * Gives a hash code consistent with equals, overrides method in Account class. College Checking
+     * accounts inherit it, since they are equal to a Checking account of the same holder.
+     * @return int representing the hash code of the account
+     */
+    @Override
+    public int hashCode()
+    {
+        return 31 * this.holder.hashCode() + ACCOUNT_TYPE.hashCode();
+    }
+
     /**
      * This function is used to get the annual interest rate of a Checking account.
-     * @return - double representing the annual interest
+     * @return - long representing the annual interest in basis points
      */
-    protected double getAnnualInterestRate(){
-        return ANNUAL_INTEREST;
+    protected long getAnnualInterestBasisPoints(){
+        return ANNUAL_INTEREST_BASIS_POINTS;
     }
 
     /**
      * This function returns a monthly interest, which in this case would be balance*annualInterest/1200,
-     * overrides method from Account class.
-     * @return - double representing the monthly interest that an account holder gets on his account.
+     * rounded half to even to whole cents, overrides method from Account class.
+     * @return - long representing the monthly interest in cents that an account holder gets on his account.
      */
     @Override
-    public double monthlyInterest() {
-        return getBalance()*getAnnualInterestRate()/ INTEREST_PERCENT_DIVIDED_BY_TOTAL_MONTHS;
+    public long monthlyInterestCents() {
+        return Money.monthlyInterest(balance, getAnnualInterestBasisPoints());
     }
 
     /**
      * This function returns a monthly fee that an account holder needs to pay on a monthly basis,
      * overrides method from Account class.
-     * @return - a double representing a monthly fee that an account holder needs to pay on a monthly basis
+     * @return - a long representing a monthly fee in cents that an account holder needs to pay on a monthly basis
      * depending on the balance.
      */
     @Override
-    public double fee()
+    public long feeCents()
     {
         if(isClosed())
         {
             return 0;
         }
-        if(balance >= MINIMUM_BALANCE_TO_WAIVE_FEE)
+        if(balance >= MINIMUM_BALANCE_TO_WAIVE_FEE * Money.CENTS_PER_DOLLAR)
         {
             return 0;
         }
         else
         {
-            return MONTHLY_FEE;
+            return MONTHLY_FEE * Money.CENTS_PER_DOLLAR;
         }
     }
 
@@ -83,17 +93,15 @@ public class Checking extends Account
     }
 
     /**
-     * This function gives the account info, profile info, and closing status,
-     * overrides method in Account class.
-     * @return the type of account, profile info of holder and whether it's closed.
+     * This function appends the closing status to the report line, overrides method in Account class.
+     * @param s - where the status is appended
      */
     @Override
-    public String toString()
+    protected void appendStatus(StringBuilder s)
     {
         if(this.isClosed())
         {
-            return getType() + "::" + super.toString() + "::CLOSED";
+            s.append("::CLOSED");
         }
-        return getType() + "::" + super.toString();
     }
 }
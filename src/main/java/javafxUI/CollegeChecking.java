@@ -8,7 +8,7 @@ package javafxUI;
  */
 public class CollegeChecking extends Checking {
 
-    private static final double ANNUAL_INTEREST = 0.25;
+    static final long ANNUAL_INTEREST_BASIS_POINTS = 25;
     private static final String ACCOUNT_TYPE = "College Checking";
     private College college;
 
@@ -16,11 +16,11 @@ public class CollegeChecking extends Checking {
     /**
      * This function is used to get the annualInterest rate of a College Checking account,
      * overrides method in Checking class.
-     * @return - double representing the annual interest
+     * @return - long representing the annual interest in basis points
      */
     @Override
-    protected double getAnnualInterestRate(){
-       return ANNUAL_INTEREST;
+    protected long getAnnualInterestBasisPoints(){
+       return ANNUAL_INTEREST_BASIS_POINTS;
     }
 
      /**
@@ -40,6 +40,14 @@ public class CollegeChecking extends Checking {
 
      }
 
+    /**
+     * @return College enum object of the campus, null if none was chosen
+     */
+    College getCollege()
+    {
+        return this.college;
+    }
+
     /**
      * This function sets the passed in account object's new balance and sets the boolean
      * closed variable to false by polymorphism and sets the new college campus,
@@ -51,16 +59,17 @@ public class CollegeChecking extends Checking {
     {
         super.reOpen(newAccount);
         this.college = ((CollegeChecking)newAccount).college;
+        markDirty();
     }
 
     /**
      * This function returns a monthly fee that an account holder needs to pay on a monthly basis,
      * overrides method in Account class.
-     * @return - a double that has a monthly fee that an account holder needs to pay on a monthly basis
+     * @return - a long that has a monthly fee in cents that an account holder needs to pay on a monthly basis
      * depending on the balance.
      */
     @Override
-    public double fee() {
+    public long feeCents() {
         return 0;
     }
 
@@ -74,14 +83,14 @@ public class CollegeChecking extends Checking {
     }
 
     /**
-     * This function gives the account info, profile info, and closing status,
-     * overrides method in Account class.
-     * @return - a String that has account info, profile info and whether it's opened or close.
+     * This function appends the closing status and the campus to the report line, overrides method in Checking class.
+     * @param s - where the status is appended
      */
     @Override
-    public String toString()
+    protected void appendStatus(StringBuilder s)
     {
-        return super.toString() + "::" + college.toString();
+        super.appendStatus(s);
+        s.append("::").append(college.toString());
     }
 
 
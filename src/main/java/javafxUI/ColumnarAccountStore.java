@@ -0,0 +1,287 @@
+package javafxUI;
+
+import java.util.Arrays;
+
+/**
+ * ColumnarAccountStore holds the state the month-end run needs from each account in parallel
+ * primitive arrays, one row per account in the order the accounts were opened. The fee and interest
+ * rules of Checking, College Checking, Savings and Money Market are applied from per-type lookup
+ * tables in one loop, instead of through virtual calls on every Account object, and give exactly
+ * the same balances as Account.updateBalanceWithFeeAndMonthlyInterest. Balances are in cents.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class ColumnarAccountStore {
+
+    public static final byte CHECKING = 0;
+    public static final byte COLLEGE_CHECKING = 1;
+    public static final byte SAVINGS = 2;
+    public static final byte MONEY_MARKET = 3;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Per-type rule tables, indexed by the type codes above, in cents and basis points. A balance at or
+     * above the waive balance with at most the allowed number of withdrawals pays no fee. The loyalty
+     * bonus is added to the base rate for loyal holders.
+     */
+    private static final long[] WAIVE_BALANCE = {Checking.MINIMUM_BALANCE_TO_WAIVE_FEE * Money.CENTS_PER_DOLLAR,
+            Long.MIN_VALUE, Savings.EXPECTED_BALANCE * Money.CENTS_PER_DOLLAR, MoneyMarket.ExpectedBalance * Money.CENTS_PER_DOLLAR};
+    private static final int[] MAXIMUM_WITHDRAWALS = {Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Integer.MAX_VALUE, MoneyMarket.maximumWithdrawals};
+    private static final long[] MONTHLY_FEE = {Checking.MONTHLY_FEE * Money.CENTS_PER_DOLLAR, 0,
+            Savings.MONTHLY_FEE * Money.CENTS_PER_DOLLAR, MoneyMarket.monthlyFee * Money.CENTS_PER_DOLLAR};
+    private static final long[] BASE_RATE = {Checking.ANNUAL_INTEREST_BASIS_POINTS, CollegeChecking.ANNUAL_INTEREST_BASIS_POINTS,
+            Savings.ANNUAL_INTEREST_BASIS_POINTS, MoneyMarket.annualInterestBasisPoints};
+    private static final long[] LOYALTY_BONUS = {0, 0, Savings.LOYALTY_BONUS_BASIS_POINTS, Savings.LOYALTY_BONUS_BASIS_POINTS};
+
+    private long[] balance;
+    private byte[] type;
+    private boolean[] closed;
+    private boolean[] loyal;
+    private int[] withdrawCount;
+    private int size;
+
+    /**
+     * Constructor that creates an empty store with room for the given number of accounts.
+     * @param capacity - the number of accounts the store is expected to hold
+     */
+    public ColumnarAccountStore(int capacity)
+    {
+        if(capacity < 0)
+        {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        capacity = Math.max(capacity, INITIAL_CAPACITY);
+        this.balance = new long[capacity];
+        this.type = new byte[capacity];
+        this.closed = new boolean[capacity];
+        this.loyal = new boolean[capacity];
+        this.withdrawCount = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * @return - int which is the number of accounts the store is currently holding.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * This function gives the type code of an account, checking subclasses before their superclasses.
+     * @param account - the account being classified
+     * @return byte which is one of CHECKING, COLLEGE_CHECKING, SAVINGS or MONEY_MARKET
+     */
+    public static byte typeOf(Account account)
+    {
+        if(account instanceof CollegeChecking)
+        {
+            return COLLEGE_CHECKING;
+        }
+        if(account instanceof Checking)
+        {
+            return CHECKING;
+        }
+        if(account instanceof MoneyMarket)
+        {
+            return MONEY_MARKET;
+        }
+        if(account instanceof Savings)
+        {
+            return SAVINGS;
+        }
+        throw new IllegalArgumentException("Unknown account type: " + account.getType());
+    }
+
+    /**
+     * This function creates an empty account of a type code, the reverse of typeOf.
+     * @param code - one of CHECKING, COLLEGE_CHECKING, SAVINGS or MONEY_MARKET
+     * @param college - campus of a College Checking account, null if none was chosen
+     * @param loyal - loyalty of a Savings account
+     * @return Account of the type, with no holder and no balance yet
+     */
+    static Account newAccount(byte code, College college, boolean loyal)
+    {
+        switch (code)
+        {
+            case CHECKING:
+                return new Checking();
+            case COLLEGE_CHECKING:
+                return college == null ? new CollegeChecking() : new CollegeChecking(college);
+            case SAVINGS:
+                Savings savings = new Savings();
+                savings.setLoyalty(loyal);
+                return savings;
+            case MONEY_MARKET:
+                return new MoneyMarket();
+            default:
+                throw new IllegalArgumentException("Unknown account type code: " + code);
+        }
+    }
+
+    /**
+     * This function appends a row holding the current state of an account.
+     * @param account - the account being copied into the store
+     */
+    public void add(Account account)
+    {
+        byte code = typeOf(account);
+        add(code, account.getBalanceCents(), account.isClosed(), code == SAVINGS && ((Savings) account).isLoyal(),
+                code == MONEY_MARKET ? ((MoneyMarket) account).getWithdrawCounter() : 0);
+    }
+
+    /**
+     * This function appends a row from the state of an account given column by column.
+     * @param code - type code of the account
+     * @param balance - balance in cents
+     * @param closed - true if the account is closed
+     * @param loyal - loyalty flag, only used by Savings
+     * @param withdrawals - number of withdrawals, only used by Money Market
+     */
+    void add(byte code, long balance, boolean closed, boolean loyal, int withdrawals)
+    {
+        if(size == this.balance.length)
+        {
+            grow();
+        }
+        this.balance[size] = balance;
+        this.type[size] = code;
+        this.closed[size] = closed;
+        this.loyal[size] = loyal;
+        this.withdrawCount[size] = withdrawals;
+        size++;
+    }
+
+    /**
+     * This function doubles the capacity of every column.
+     */
+    private void grow()
+    {
+        int updatedLength = balance.length * 2;
+        balance = Arrays.copyOf(balance, updatedLength);
+        type = Arrays.copyOf(type, updatedLength);
+        closed = Arrays.copyOf(closed, updatedLength);
+        loyal = Arrays.copyOf(loyal, updatedLength);
+        withdrawCount = Arrays.copyOf(withdrawCount, updatedLength);
+    }
+
+    /**
+     * @param row - the row of the account
+     * @return long containing the balance in cents of the account in that row
+     */
+    public long getBalanceCents(int row)
+    {
+        checkRow(row);
+        return balance[row];
+    }
+
+    /**
+     * This function returns the monthly fee of the account in a row, the same as its feeCents().
+     * @param row - the row of the account
+     * @return long representing the monthly fee in cents
+     */
+    public long feeCents(int row)
+    {
+        checkRow(row);
+        return fee(type[row], balance[row], closed[row], withdrawCount[row]);
+    }
+
+    /**
+     * This function returns the monthly interest of the account in a row, the same as its monthlyInterestCents().
+     * @param row - the row of the account
+     * @return long representing the monthly interest in cents
+     */
+    public long monthlyInterestCents(int row)
+    {
+        checkRow(row);
+        return monthlyInterest(type[row], balance[row], loyal[row]);
+    }
+
+    /**
+     * This function applies the monthly fee and interest to every open account in the store,
+     * the same as calling updateBalanceWithFeeAndMonthlyInterest on each account.
+     */
+    public void updateBalances()
+    {
+        updateBalances(0, size);
+    }
+
+    /**
+     * This function applies the monthly fee and interest to the open accounts in a range of rows.
+     * @param from - first row, inclusive
+     * @param to - last row, exclusive
+     */
+    public void updateBalances(int from, int to)
+    {
+        if(from < 0 || to > size || from > to)
+        {
+            throw new IndexOutOfBoundsException("Rows " + from + " to " + to + " out of 0 to " + size);
+        }
+        long[] balance = this.balance;
+        byte[] type = this.type;
+        boolean[] closed = this.closed;
+        boolean[] loyal = this.loyal;
+        int[] withdrawCount = this.withdrawCount;
+        for(int i = from; i < to; i++)
+        {
+            long current = balance[i];
+            byte code = type[i];
+            long updated = current - fee(code, current, false, withdrawCount[i]) + monthlyInterest(code, current, loyal[i]);
+            balance[i] = closed[i] ? current : updated;
+        }
+    }
+
+    /**
+     * This function writes the balances in the store back to the accounts they were copied from.
+     * @param accounts - the accounts in the same order they were added to the store
+     */
+    void copyBalancesTo(Account[] accounts)
+    {
+        for(int i = 0; i < size; i++)
+        {
+            accounts[i].setBalanceCents(balance[i]);
+        }
+    }
+
+    /**
+     * This function is a helper that applies the fee rule of an account type.
+     * @param code - type code of the account
+     * @param balance - current balance in cents
+     * @param closed - true if the account is closed
+     * @param withdrawals - number of withdrawals, only used by Money Market
+     * @return long representing the monthly fee in cents
+     */
+    private static long fee(byte code, long balance, boolean closed, int withdrawals)
+    {
+        boolean waived = closed || (balance >= WAIVE_BALANCE[code] && withdrawals <= MAXIMUM_WITHDRAWALS[code]);
+        return waived ? 0 : MONTHLY_FEE[code];
+    }
+
+    /**
+     * This function is a helper that applies the interest rule of an account type. Money Market holders
+     * are loyal while their balance is at least the expected balance, Savings holders when flagged loyal.
+     * @param code - type code of the account
+     * @param balance - current balance in cents
+     * @param loyal - loyalty flag, only used by Savings
+     * @return long representing the monthly interest in cents
+     */
+    private static long monthlyInterest(byte code, long balance, boolean loyal)
+    {
+        boolean isLoyal = code == MONEY_MARKET ? balance >= WAIVE_BALANCE[MONEY_MARKET] : loyal;
+        long rate = isLoyal ? BASE_RATE[code] + LOYALTY_BONUS[code] : BASE_RATE[code];
+        return Money.monthlyInterest(balance, rate);
+    }
+
+    /**
+     * This function is a helper that checks a row is within the store.
+     * @param row - the row being checked
+     */
+    private void checkRow(int row)
+    {
+        if(row < 0 || row >= size)
+        {
+            throw new IndexOutOfBoundsException("Row " + row + " out of 0 to " + size);
+        }
+    }
+}
@@ -0,0 +1,827 @@
+package javafxUI;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ConcurrentAccountDatabase is an AccountDatabase that many teller sessions can share. Opening an account
+ * changes the array and the indexes, so it takes the structure lock exclusively. Every other operation takes
+ * the structure lock shared and then locks the stripe of the account holder, so deposits and withdrawals for
+ * different holders run in parallel, while a withdrawal checks and debits the balance as one atomic step.
+ * Reports take the structure lock shared and lock each holder's stripe while that account's line is formatted;
+ * the month-end update changes every account, so it takes the structure lock exclusively.
+ * With lock-free balances, deposits and withdrawals skip the holder's stripe and update the balance with an
+ * atomic compare-and-set instead, so tellers hitting the same busy account never wait on each other. Closing,
+ * reopening and the reports then take the structure lock exclusively, since no stripe guards the balances.
+ * The checks the teller makes before a change, that the account is not there yet, or is open or closed, are
+ * made under the same locks as the change they allow.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class ConcurrentAccountDatabase extends AccountDatabase {
+
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes;
+    private final boolean lockFreeBalances;
+
+    /**
+     * This is the constructor that creates an empty database with the default number of lock stripes.
+     */
+    public ConcurrentAccountDatabase()
+    {
+        this(0, DEFAULT_STRIPES);
+    }
+
+    /**
+     * This is the constructor that creates an empty database sized for a bulk import.
+     * @param expectedAccounts - the number of accounts the database is expected to hold
+     * @param stripes - the number of holder locks, rounded up to a power of two
+     * @throws IllegalArgumentException if expectedAccounts is negative or stripes is less than 1
+     */
+    public ConcurrentAccountDatabase(int expectedAccounts, int stripes)
+    {
+        this(expectedAccounts, stripes, false);
+    }
+
+    /**
+     * This is the constructor that creates an empty database sized for a bulk import, choosing how balances are guarded.
+     * @param expectedAccounts - the number of accounts the database is expected to hold
+     * @param stripes - the number of holder locks, rounded up to a power of two
+     * @param lockFreeBalances - true to deposit and withdraw with compare-and-set instead of the holder locks
+     * @throws IllegalArgumentException if expectedAccounts is negative or stripes is less than 1
+     */
+    public ConcurrentAccountDatabase(int expectedAccounts, int stripes, boolean lockFreeBalances)
+    {
+        super(expectedAccounts);
+        this.lockFreeBalances = lockFreeBalances;
+        if(stripes < 1 || stripes > (1 << 30))
+        {
+            throw new IllegalArgumentException("Number of lock stripes must be between 1 and 2^30: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes);
+        if(size < stripes)
+        {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for(int i = 0; i < size; i++)
+        {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return - true if deposits and withdrawals use compare-and-set instead of the holder locks.
+     */
+    public boolean hasLockFreeBalances()
+    {
+        return lockFreeBalances;
+    }
+
+    /**
+     * This function is a helper that gives the structure lock for operations that read a balance outside
+     * the holder locks: shared while the holder locks guard the balances, exclusive with lock-free balances.
+     * @return - the lock to hold
+     */
+    private Lock balanceReadLock()
+    {
+        return lockFreeBalances ? structureLock.writeLock() : structureLock.readLock();
+    }
+
+    /**
+     * This function is a helper that gives the lock guarding every account of the passed in account's holder.
+     * @param account - an account of the holder
+     * @return - the holder's stripe lock
+     */
+    ReentrantLock stripeOf(Account account)
+    {
+        return stripeOf(account.holder);
+    }
+
+    /**
+     * This function is a helper that gives the lock guarding every account of a holder.
+     * @param holder - the profile of the holder
+     * @return - the holder's stripe lock
+     */
+    private ReentrantLock stripeOf(Profile holder)
+    {
+        int hash = holder.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    /**
+     * @return - int which is the number of accounts that Accounts array is currently holding.
+     */
+    @Override
+    public int getNumAcct()
+    {
+        structureLock.readLock().lock();
+        try
+        {
+            return super.getNumAcct();
+        }
+        finally
+        {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function finds whether the passed in account object exists in the database and returns that account.
+     * @param account - account object that is being checked if it exists
+     * @return account if found, null if NOT_FOUND
+     */
+    @Override
+    public Account getAccountIfExists(Account account)
+    {
+        structureLock.readLock().lock();
+        try
+        {
+            return super.getAccountIfExists(account);
+        }
+        finally
+        {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function gives every account of a holder while no account is being opened.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return List of the holder's accounts, empty if the holder has none
+     */
+    @Override
+    public List<Account> getAccounts(Profile holder)
+    {
+        structureLock.readLock().lock();
+        try
+        {
+            return super.getAccounts(holder);
+        }
+        finally
+        {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function adds up the balances of every account of a holder under the holder's lock, so no deposit or
+     * withdrawal of the holder is half done, or with every other operation excluded when balances are lock-free.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return long holding the combined balance in cents, 0 if the holder has no account
+     */
+    @Override
+    public long getCombinedBalanceCents(Profile holder)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.writeLock().lock();
+            try
+            {
+                return super.getCombinedBalanceCents(holder);
+            }
+            finally
+            {
+                structureLock.writeLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(holder);
+        stripe.lock();
+        try
+        {
+            return super.getCombinedBalanceCents(holder);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function gives the report lines and combined balance of a holder's accounts under the holder's lock, so
+     * the balance adds up the lines shown, or with every other operation excluded when balances are lock-free.
+     * @param holder - the profile of the account holder, names compared ignoring case
+     * @return List of the report lines and the combined balance line, empty if the holder has no account
+     */
+    @Override
+    public List<String> describeAccounts(Profile holder)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.writeLock().lock();
+            try
+            {
+                return super.describeAccounts(holder);
+            }
+            finally
+            {
+                structureLock.writeLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(holder);
+        stripe.lock();
+        try
+        {
+            return super.describeAccounts(holder);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function finds the accounts whose holder's names start with every word of a query while no account
+     * is being opened. The first search builds the index, so it excludes every other operation.
+     * @param query - part of the holder's names, the words separated by spaces
+     * @param limit - the most accounts found
+     * @return List of at most limit accounts, the exact matches first, empty if the query has no words
+     */
+    @Override
+    public List<Account> searchHolders(String query, int limit)
+    {
+        structureLock.readLock().lock();
+        try
+        {
+            if(hasHolderSearch())
+            {
+                return super.searchHolders(query, limit);
+            }
+        }
+        finally
+        {
+            structureLock.readLock().unlock();
+        }
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.searchHolders(query, limit);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function gives the report lines of the accounts found by searchHolders while no account is being
+     * opened, each line formatted under its holder's lock like the other reports. The first search builds the
+     * index, and with lock-free balances no stripe guards the balances, so then every other operation is excluded.
+     * @param query - part of the holder's names, the words separated by spaces
+     * @param limit - the most accounts found
+     * @return List of the report lines of at most limit accounts, the exact matches first
+     */
+    @Override
+    public List<String> describeHolders(String query, int limit)
+    {
+        if(!lockFreeBalances)
+        {
+            structureLock.readLock().lock();
+            try
+            {
+                if(hasHolderSearch())
+                {
+                    return super.describeHolders(query, limit);
+                }
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+        }
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.describeHolders(query, limit);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function adds a new account object to the database, excluding every other operation while the
+     * array and the indexes change.
+     * @param account - The account object that needs to be added.
+     * @return true only after when the account gets added to array successfully.
+     */
+    @Override
+    public boolean open(Account account)
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.open(account);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function finds and reopens an account object under the holder's lock, or with every other operation
+     * excluded when balances are lock-free.
+     * @param account - account object that needs to be reopened in the array
+     * @return true when the account object is reopened and false when it's not found
+     */
+    @Override
+    public boolean reOpen(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.writeLock().lock();
+            try
+            {
+                return super.reOpen(account);
+            }
+            finally
+            {
+                structureLock.writeLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            return super.reOpen(account);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function finds and closes an account object under the holder's lock, or with every other operation
+     * excluded when balances are lock-free.
+     * @param account - The account object that needs to be closed.
+     * @return false if the account object does not exist, true if account is successfully closed.
+     */
+    @Override
+    public boolean close(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.writeLock().lock();
+            try
+            {
+                return super.close(account);
+            }
+            finally
+            {
+                structureLock.writeLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            return super.close(account);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function finds the account in the database and adds in an amount to its balance under the holder's lock,
+     * or with a compare-and-set when balances are lock-free.
+     * @param account - account object in which the balance needs to be added.
+     */
+    @Override
+    public void deposit(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.readLock().lock();
+            try
+            {
+                Account existing = super.getAccountIfExists(account);
+                long amount = account.getBalanceCents();
+                long before = existing.getAndDepositCentsAtomically(amount);
+                getCounters().balanceChanged(existing, before, before + amount);
+                return;
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            super.deposit(account);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function checks the balance and deducts an amount from it as one step under the holder's lock,
+     * so two concurrent withdrawals can never both pass the check on the same funds. With lock-free balances the
+     * check and the debit are a single compare-and-set instead.
+     * @param account - Account object from which the balance needs to be removed.
+     * @return - true if the amount is available to withdraw from the account's balance
+     *           and the account exists.
+     *         - false if the amount is greater than the available balance or if the account doesn't exist.
+     */
+    @Override
+    public boolean withdraw(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.readLock().lock();
+            try
+            {
+                Account existing = super.getAccountIfExists(account);
+                if(existing == null)
+                {
+                    return false;
+                }
+                long amount = account.getBalanceCents();
+                long before = existing.getAndWithdrawCentsAtomically(amount);
+                if(before == Account.NOT_WITHDRAWN)
+                {
+                    return false;
+                }
+                getCounters().balanceChanged(existing, before, before - amount);
+                getCounters().withdrawn(existing);
+                return true;
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            return super.withdraw(account);
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function opens an account unless an equal account is already in the database, looking for it and
+     * adding it while every other operation is excluded.
+     * @param account - The account object that needs to be added.
+     * @return Account already in the database, or null if the passed in account was opened
+     */
+    @Override
+    public Account openIfAbsent(Account account)
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.openIfAbsent(account);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function reopens an account only if it is closed and of the same type, checking and reopening it under
+     * the holder's lock, or with every other operation excluded when balances are lock-free.
+     * @param account - account object that needs to be reopened in the array
+     * @return true when the account object is reopened, false when it's not found, open or of another type
+     */
+    @Override
+    public boolean reOpenIfClosed(Account account)
+    {
+        return underHolderLock(account, () -> super.reOpenIfClosed(account));
+    }
+
+    /**
+     * This function closes an account only if it is open, checking and closing it under the holder's lock, or with
+     * every other operation excluded when balances are lock-free.
+     * @param account - The account object that needs to be closed.
+     * @return true if the account is closed by this call, false if it does not exist or was already closed.
+     */
+    @Override
+    public boolean closeIfOpen(Account account)
+    {
+        return underHolderLock(account, () -> super.closeIfOpen(account));
+    }
+
+    /**
+     * This function adds in an amount to the balance of an account only if it is open, checking and depositing
+     * under the holder's lock. With lock-free balances the structure lock is held shared instead, which is enough
+     * since closing an account takes it exclusively.
+     * @param account - account object in which the balance needs to be added.
+     * @return true if the amount was deposited, false if the account does not exist or is closed.
+     */
+    @Override
+    public boolean depositIfOpen(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.readLock().lock();
+            try
+            {
+                return super.depositIfOpen(account);
+            }
+            finally
+            {
+                structureLock.readLock().unlock();
+            }
+        }
+        return underHolderLock(account, () -> super.depositIfOpen(account));
+    }
+
+    /**
+     * This function is a helper that runs a check and the change it allows as one step for one holder: under the
+     * structure lock shared and the holder's stripe, or the structure lock exclusively when balances are lock-free.
+     * @param account - an account of the holder
+     * @param operation - the check and the change
+     * @return - what the operation returned
+     */
+    private boolean underHolderLock(Account account, BooleanSupplier operation)
+    {
+        if(lockFreeBalances)
+        {
+            structureLock.writeLock().lock();
+            try
+            {
+                return operation.getAsBoolean();
+            }
+            finally
+            {
+                structureLock.writeLock().unlock();
+            }
+        }
+        structureLock.readLock().lock();
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            return operation.getAsBoolean();
+        }
+        finally
+        {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This function prints all the accounts in the database while no account is being opened,
+     * and no balance is changing when balances are lock-free.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    @Override
+    public void print(Appendable out) throws IOException
+    {
+        Lock lock = balanceReadLock();
+        lock.lock();
+        try
+        {
+            super.print(out);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function prints all the accounts in the database by their account type while no account is being opened,
+     * and no balance is changing when balances are lock-free.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    @Override
+    public void printByAccountType(Appendable out) throws IOException
+    {
+        Lock lock = balanceReadLock();
+        lock.lock();
+        try
+        {
+            super.printByAccountType(out);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function prints the monthly fees and interests of all accounts while no account is being opened,
+     * and no balance is changing when balances are lock-free.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    @Override
+    public void printFeeAndInterest(Appendable out) throws IOException
+    {
+        Lock lock = balanceReadLock();
+        lock.lock();
+        try
+        {
+            super.printFeeAndInterest(out);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function updates every account with the fee and monthly interest and prints it, excluding every other
+     * operation until the whole month-end run is done.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    @Override
+    public void printWithUpdatedBalance(Appendable out) throws IOException
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            super.printWithUpdatedBalance(out);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function runs the month-end update on a fork/join pool, excluding every other operation until it is done.
+     * @param pool - the pool running the update
+     * @param splitThreshold - the number of accounts a single task updates without splitting further
+     * @return - String representing all the information with the updated balance of each account object in the array line by line
+     */
+    @Override
+    public String printWithUpdatedBalance(ForkJoinPool pool, int splitThreshold)
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.printWithUpdatedBalance(pool, splitThreshold);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function gives the totals of the database while no account is changing, so they are consistent with
+     * each other.
+     * @return AccountStatistics holding the totals
+     */
+    @Override
+    public AccountStatistics statistics()
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.statistics();
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function copies the state of every account into a columnar store, excluding every other operation
+     * so the copy is consistent.
+     * @return - ColumnarAccountStore with one row per account in the database
+     */
+    @Override
+    public ColumnarAccountStore toColumnarStore()
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            return super.toColumnarStore();
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function writes the balances computed in a columnar store back to the accounts, excluding every other operation.
+     * @param store - store created by toColumnarStore on this database
+     */
+    @Override
+    public void copyBalancesFrom(ColumnarAccountStore store)
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            super.copyBalancesFrom(store);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function writes a snapshot of every account, excluding every other operation so the snapshot is consistent.
+     * @param file - the snapshot file, replaced once the new snapshot is completely on disk
+     * @param generation - the journal generation the snapshot covers
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    void writeSnapshot(Path file, long generation) throws IOException
+    {
+        structureLock.writeLock().lock();
+        try
+        {
+            super.writeSnapshot(file, generation);
+        }
+        finally
+        {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * This function gives the report line of an account while holding the holder's lock, unless balances are
+     * lock-free and the report already excludes every other operation.
+     * @param account - the account being described
+     * @return - String representing the account
+     */
+    @Override
+    String describe(Account account)
+    {
+        if(lockFreeBalances)
+        {
+            return super.describe(account);
+        }
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            return super.describe(account);
+        }
+        finally
+        {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * This function appends the report line of an account with its fee and interest while holding the holder's lock,
+     * unless balances are lock-free and the report already excludes every other operation.
+     * @param line - where the line is appended
+     * @param account - the account being described
+     */
+    @Override
+    void describeWithFeeAndInterest(StringBuilder line, Account account)
+    {
+        if(lockFreeBalances)
+        {
+            super.describeWithFeeAndInterest(line, account);
+            return;
+        }
+        ReentrantLock stripe = stripeOf(account);
+        stripe.lock();
+        try
+        {
+            super.describeWithFeeAndInterest(line, account);
+        }
+        finally
+        {
+            stripe.unlock();
+        }
+    }
+}
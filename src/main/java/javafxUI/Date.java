@@ -1,19 +1,21 @@
 package javafxUI;
 
+import java.time.Clock;
 import java.util.Calendar;
 
 
 /**
  * A class that stores the date based off an input string and the current date.
  *
- * We break down the string and save the year, the month, and
- * the day within the respective instance variables.
+ * The year, the month and the day are packed into a single int of the form yyyymmdd, so comparing two dates
+ * is one subtraction and a date is only one field. Dates are parsed straight from the characters, without
+ * splitting the string, and the dates of birth from 1900 to 2099 are interned by parse and unpack, so the
+ * same date of birth read again and again is one object. Today's date comes from a Today that reads the clock
+ * again only after midnight, and the clock can be set, so date checks can be run as of any day.
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public class Date implements Comparable<Date> {
-    private int year;
-    private int month;
-    private int day;
+    private final int packed;
 
     //constants
     public static final int QUADRENNIAL = 4;
@@ -21,41 +23,150 @@ public class Date implements Comparable<Date> {
     public static final int QUATERCENTENNIAL = 400;
     public static final int FEBRUARY_LEAP = 29;
     public static final int DAYS_END = 31;
+    public static final int MAX_YEAR = 9999;
+    private static final int MONTHS = 12;
+    private static final int FIRST_INTERNED_YEAR = 1900;
+    private static final int INTERNED_YEARS = 200;
+
+    //the interned dates, indexed by interned(), filled in as they are first needed; a Date only has a final
+    //field, so another thread either sees the whole Date or null and then creates its own
+    private static final Date[] INTERNED = new Date[INTERNED_YEARS * MONTHS * DAYS_END];
+    private static volatile Today today = new Today(Clock.systemDefaultZone());
 
     /**
      * Constructor that creates a Date object based off the given string.
-     * Using StringTokenizer, it assigns the proper values
-     * to the instance variables month, day, and year
+     * The characters are read once and the year, month and day
+     * are packed into one int.
      *
-     * @param date - a string in the form mm/dd/yyyy
+     * @param date - a string in the form yyyy-mm-dd
+     * @throws NumberFormatException if the string is not three numbers separated by dashes
      */
     public Date(String date)
     {
-        String[] s = date.split("-");
-        int y = Integer.parseInt(s[0]);
-        int m = Integer.parseInt(s[1]);
-        int d = Integer.parseInt(s[2]);
-        this.year = y;
-        this.month = m;
-        this.day = d;
+        this(parsePacked(date));
     }
 
 
     /**
-     * Creates a Date object that represents today's date
-     * with the help of the Java Calendar library.
+     * Constructor that creates a Date object from its packed form.
+     * @param packed - int of the form yyyymmdd
+     */
+    private Date(int packed)
+    {
+        this.packed = packed;
+    }
+
+    /**
+     * Creates a Date object that represents today's date,
+     * as given by the clock set with setClock.
      * In the event the user doesn't specify a string,
      * this constructor will run
      */
     public Date()
     {
-        Calendar c = Calendar.getInstance();
-        int y = c.get(Calendar.YEAR);
-        int m = c.get(Calendar.MONTH)+1;
-        int d = c.get(Calendar.DAY_OF_MONTH);
-        this.year=y;
-        this.month=m;
-        this.day=d;
+        this(today.packed());
+    }
+
+    /**
+     * This function sets the clock today's date is read from, the system clock in the default time zone
+     * unless set otherwise. A fixed clock makes the date checks act as of that day.
+     * @param clock - the clock giving the time and the time zone
+     */
+    public static void setClock(Clock clock)
+    {
+        today = new Today(clock);
+    }
+
+    /**
+     * This function parses a date of the form yyyy-mm-dd, giving back the interned Date when there is one.
+     * @param date - characters in the form yyyy-mm-dd, each part one or more digits
+     * @return Date representing the parsed date
+     * @throws NumberFormatException if the characters are not three numbers separated by dashes
+     */
+    public static Date parse(CharSequence date)
+    {
+        return unpack(parsePacked(date));
+    }
+
+    /**
+     * This function is a helper that parses a date of the form yyyy-mm-dd into the packed form, reading each
+     * character once.
+     * @param date - characters in the form yyyy-mm-dd
+     * @return int representing the packed date
+     * @throws NumberFormatException if the characters are not three numbers separated by dashes, or a part is too
+     * big to be packed
+     */
+    private static int parsePacked(CharSequence date)
+    {
+        int length = date.length();
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        int packed = 0;
+        for(int i = 0; i <= length; i++)
+        {
+            char c = i == length ? '-' : date.charAt(i);
+            int digit = c - '0';
+            if(digit >= 0 && digit <= 9)
+            {
+                value = value * 10 + digit;
+                digits++;
+                if(value > (part == 0 ? MAX_YEAR : 99))
+                {
+                    throw invalid(date);
+                }
+            }
+            else if(c == '-' && digits > 0 && part < 3)
+            {
+                packed = packed * (part == 0 ? 1 : 100) + value;
+                part++;
+                value = 0;
+                digits = 0;
+            }
+            else
+            {
+                throw invalid(date);
+            }
+        }
+        if(part != 3)
+        {
+            throw invalid(date);
+        }
+        return packed;
+    }
+
+    /**
+     * This function is a helper that creates the exception thrown for characters that are not a date.
+     * @param date - the characters that could not be parsed
+     * @return NumberFormatException naming the characters
+     */
+    private static NumberFormatException invalid(CharSequence date)
+    {
+        return new NumberFormatException("For input string: \"" + date + "\"");
+    }
+
+    /**
+     * @return - int which is the year.
+     */
+    private int year()
+    {
+        return packed / 10000;
+    }
+
+    /**
+     * @return - int which is the month, 1 to 12 when the date is valid.
+     */
+    private int month()
+    {
+        return packed / 100 % 100;
+    }
+
+    /**
+     * @return - int which is the day of the month.
+     */
+    private int day()
+    {
+        return packed % 100;
     }
 
     /**
@@ -66,11 +177,13 @@ public class Date implements Comparable<Date> {
      */
     public boolean isValid()
     {
-        if((this.day < 1) || (this.day > DAYS_END))
+        int day = day();
+        int month = month();
+        if((day < 1) || (day > DAYS_END))
         {
             return false;
         }
-        switch (this.month)
+        switch (month)
         {
             case Calendar.JANUARY + 1:
             case Calendar.MARCH + 1:
@@ -81,19 +194,19 @@ public class Date implements Comparable<Date> {
             case Calendar.DECEMBER + 1:
                 return true;
             case Calendar.FEBRUARY + 1:
-                if(isLeapYear() && this.day == FEBRUARY_LEAP)
+                if(isLeapYear() && day == FEBRUARY_LEAP)
                 {
                     return true;
                 }
                 else
                 {
-                    return this.day < FEBRUARY_LEAP;
+                    return day < FEBRUARY_LEAP;
                 }
             case Calendar.APRIL + 1:
             case Calendar.JUNE + 1:
             case Calendar.SEPTEMBER + 1:
             case Calendar.NOVEMBER + 1:
-                return this.day < DAYS_END;
+                return day < DAYS_END;
             default:
                 return false;
         }
@@ -105,9 +218,7 @@ public class Date implements Comparable<Date> {
      */
     public boolean isInThePast()
     {
-        Date todayDate = new Date();
-
-        return this.compareTo(todayDate) < 0;
+        return this.packed < today.packed();
     }
 
     /**
@@ -116,9 +227,7 @@ public class Date implements Comparable<Date> {
      */
     public boolean isInTheFuture()
     {
-        Date todayDate = new Date();
-
-        return this.compareTo(todayDate) > 0;
+        return this.packed > today.packed();
     }
 
     /**
@@ -127,11 +236,12 @@ public class Date implements Comparable<Date> {
      */
     private boolean isLeapYear()
     {
-        if(this.year % QUADRENNIAL == 0 && this.year % CENTENNIAL != 0)
+        int year = year();
+        if(year % QUADRENNIAL == 0 && year % CENTENNIAL != 0)
         {
             return true;
         }
-        else if(this.year % QUADRENNIAL == 0 && this.year % CENTENNIAL == 0 && this.year % QUATERCENTENNIAL == 0)
+        else if(year % QUADRENNIAL == 0 && year % CENTENNIAL == 0 && year % QUATERCENTENNIAL == 0)
         {
             return true;
         }
@@ -147,52 +257,93 @@ public class Date implements Comparable<Date> {
      */
     public String toString()
     {
-        return this.month + "/" + this.day + "/" + this.year;
+        return month() + "/" + day() + "/" + year();
     }
 
     /**
-     * Takes in a date object and compares to see if one date is higher, lesser,
-     * or equal to each other
-     * @param date - object that is being compared with
-     * @return int representing each case of comparison (0 - equal, 1 - greater, -1 - lesser)
+     * Checks if the passed in object is a Date with the same year, month and day.
+     * @param obj - object being compared with
+     * @return true if the passed in object represents the same date, false otherwise.
      */
     @Override
-    public int compareTo(Date date)
+    public boolean equals(Object obj)
     {
-        if (this.year > date.year)
+        if(obj instanceof Date)
         {
-            return 1;
+            return this.packed == ((Date) obj).packed;
         }
-        else if(this.year == date.year)
-        {
-            if (this.month > date.month)
-            {
-                return 1;
-            }
-            else if(this.month == date.month)
-            {
-                if (this.day > date.day)
-                {
-                    return 1;
-                }
-                else if(this.day == date.day)
-                {
-                    return 0;
-                }
-                else
-                {
-                    return -1;
-                }
-            }
-            else
-            {
-                return -1;
-            }
+        return false;
+    }
+
+    /**
+     * Gives a hash code consistent with equals, the date packed as yyyymmdd.
+     * @return int representing the hash code of the date
+     */
+    @Override
+    public int hashCode()
+    {
+        return packed;
+    }
 
+    /**
+     * This function gives the date packed into a single int of the form yyyymmdd, the way dates are written
+     * to binary files.
+     * @return int representing the packed date
+     */
+    int pack()
+    {
+        return packed;
+    }
+
+    /**
+     * This function gives the Date of an int packed by pack(), the interned one when the date is a valid date
+     * from 1900 to 2099.
+     * @param packed - int of the form yyyymmdd
+     * @return Date representing the packed date
+     */
+    static Date unpack(int packed)
+    {
+        int index = interned(packed);
+        if(index < 0)
+        {
+            return new Date(packed);
         }
-        else
+        Date date = INTERNED[index];
+        if(date == null)
+        {
+            date = new Date(packed);
+            INTERNED[index] = date;
+        }
+        return date;
+    }
+
+    /**
+     * This function is a helper that gives where a packed date is interned.
+     * @param packed - int of the form yyyymmdd
+     * @return int which is the index in INTERNED, -1 if the date is not interned
+     */
+    private static int interned(int packed)
+    {
+        int year = packed / 10000 - FIRST_INTERNED_YEAR;
+        int month = packed / 100 % 100 - 1;
+        int day = packed % 100 - 1;
+        if(year < 0 || year >= INTERNED_YEARS || month < 0 || month >= MONTHS || day < 0 || day >= DAYS_END)
         {
             return -1;
         }
+        return (year * MONTHS + month) * DAYS_END + day;
+    }
+
+    /**
+     * Takes in a date object and compares to see if one date is higher, lesser,
+     * or equal to each other. Packed dates are ordered the same way as the dates and are never negative,
+     * so one subtraction compares them.
+     * @param date - object that is being compared with
+     * @return int representing each case of comparison (0 - equal, positive - greater, negative - lesser)
+     */
+    @Override
+    public int compareTo(Date date)
+    {
+        return this.packed - date.packed;
     }
 }
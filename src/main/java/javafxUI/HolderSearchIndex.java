@@ -0,0 +1,335 @@
+package javafxUI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HolderSearchIndex finds accounts from part of their holder's first or last name. Every name is kept folded to
+ * one case in a sorted map, so the names starting with a query are one range of the map, and the map is walked
+ * like a trie to find the names starting with something one typo away from the query: one character missing,
+ * added, replaced, or two characters swapped. Each word of a query has to start the first or the last name of
+ * the holder, and accounts are added to the index as they are opened.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class HolderSearchIndex {
+
+    /**
+     * Words shorter than this are only matched exactly, since one typo in them would match nearly every name.
+     */
+    static final int MIN_TYPO_LENGTH = 3;
+
+    private final TreeMap<String, ArrayList<Account>> accountsByName = new TreeMap<>();
+
+    /**
+     * This function adds an account under the first and the last name of its holder.
+     * @param account - the account being added
+     */
+    void add(Account account)
+    {
+        String first = fold(account.holder.getFirstName());
+        String last = fold(account.holder.getLastName());
+        addName(first, account);
+        if(!last.equals(first))
+        {
+            addName(last, account);
+        }
+    }
+
+    /**
+     * This function is a helper that adds an account under one name.
+     * @param name - the folded name
+     * @param account - the account being added
+     */
+    private void addName(String name, Account account)
+    {
+        accountsByName.computeIfAbsent(name, key -> new ArrayList<>(1)).add(account);
+    }
+
+    /**
+     * This function is a helper that folds a name to one case, each character to upper case and then to lower
+     * case, the same way equalsIgnoreCase compares names.
+     * @param name - the name being folded
+     * @return String holding the folded name
+     */
+    private static String fold(String name)
+    {
+        char[] folded = new char[name.length()];
+        for(int i = 0; i < folded.length; i++)
+        {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * This function finds the accounts whose holder's first or last name starts with every word of a query, or
+     * with something one typo away from each word of at least MIN_TYPO_LENGTH characters. The names starting
+     * with the query come first, in the order of the names, then the ones found by allowing a typo.
+     * @param query - the words being searched for, separated by spaces
+     * @param limit - the most accounts found
+     * @return List of at most limit accounts, empty if the query has no words
+     */
+    List<Account> search(String query, int limit)
+    {
+        String[] words = query.trim().split("\\s+");
+        String longest = "";
+        for(int i = 0; i < words.length; i++)
+        {
+            words[i] = fold(words[i]);
+            if(words[i].length() > longest.length())
+            {
+                longest = words[i];
+            }
+        }
+        LinkedHashSet<Account> found = new LinkedHashSet<>();
+        if(longest.isEmpty() || limit <= 0)
+        {
+            return new ArrayList<>(found);
+        }
+        addStartingWith(longest, words, found, limit);
+        if(found.size() < limit && longest.length() >= MIN_TYPO_LENGTH)
+        {
+            int[] row = new int[longest.length() + 1];
+            for(int i = 0; i < row.length; i++)
+            {
+                row[i] = i;
+            }
+            walk("", longest, row, null, (char) 0, words, found, limit);
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * This function is a helper that adds the accounts under every name starting with a prefix, keeping only
+     * those matching every word of the query.
+     * @param prefix - the folded prefix
+     * @param words - the folded words of the query
+     * @param found - where the accounts are added
+     * @param limit - the most accounts found
+     */
+    private void addStartingWith(String prefix, String[] words, LinkedHashSet<Account> found, int limit)
+    {
+        for(Map.Entry<String, ArrayList<Account>> entry : accountsByName.tailMap(prefix, true).entrySet())
+        {
+            if(!entry.getKey().startsWith(prefix))
+            {
+                return;
+            }
+            for(Account account : entry.getValue())
+            {
+                if(matchesAll(account, words))
+                {
+                    found.add(account);
+                    if(found.size() == limit)
+                    {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * This function is a helper that walks the names below a prefix one character at a time, like the children
+     * of a trie node, keeping the row of edit distances between the query word and every prefix of the names.
+     * While no typo has been needed yet every child is visited; once one has, only the few characters that can
+     * still continue a match are looked up.
+     * @param prefix - the prefix shared by the names being walked
+     * @param word - the folded word being matched
+     * @param row - the edit distances between prefix and every prefix of word
+     * @param previousRow - the row of prefix without its last character, null at the start
+     * @param last - the last character of prefix
+     * @param words - the folded words of the query
+     * @param found - where the accounts are added
+     * @param limit - the most accounts found
+     */
+    private void walk(String prefix, String word, int[] row, int[] previousRow, char last, String[] words,
+                      LinkedHashSet<Account> found, int limit)
+    {
+        if(min(row) == 0)
+        {
+            String name = accountsByName.ceilingKey(prefix);
+            while(name != null && name.startsWith(prefix) && found.size() < limit)
+            {
+                if(name.length() == prefix.length())
+                {
+                    name = accountsByName.higherKey(name);
+                    continue;
+                }
+                char c = name.charAt(prefix.length());
+                visit(prefix, c, word, row, previousRow, last, words, found, limit);
+                name = c == Character.MAX_VALUE ? null : accountsByName.ceilingKey(prefix + (char) (c + 1));
+            }
+            return;
+        }
+        StringBuilder next = new StringBuilder(word.length());
+        for(int i = 0; i <= word.length(); i++)
+        {
+            if(i < word.length() && row[i] == 1)
+            {
+                next.append(word.charAt(i));
+            }
+            if(previousRow != null && i >= 2 && previousRow[i - 2] == 0 && word.charAt(i - 1) == last)
+            {
+                next.append(word.charAt(i - 2));
+            }
+        }
+        char[] candidates = next.toString().toCharArray();
+        Arrays.sort(candidates);
+        for(int i = 0; i < candidates.length && found.size() < limit; i++)
+        {
+            if(i > 0 && candidates[i] == candidates[i - 1])
+            {
+                continue;
+            }
+            String child = prefix + candidates[i];
+            String name = accountsByName.ceilingKey(child);
+            if(name != null && name.startsWith(child))
+            {
+                visit(prefix, candidates[i], word, row, previousRow, last, words, found, limit);
+            }
+        }
+    }
+
+    /**
+     * This function is a helper that visits one child of a prefix. A child at most one typo from the whole word
+     * has all its names added; a child that can still get there is walked; the others are skipped.
+     * @param prefix - the prefix of the child
+     * @param c - the character the child adds to prefix
+     * @param word - the folded word being matched
+     * @param row - the edit distances between prefix and every prefix of word
+     * @param previousRow - the row of prefix without its last character, null at the start
+     * @param last - the last character of prefix
+     * @param words - the folded words of the query
+     * @param found - where the accounts are added
+     * @param limit - the most accounts found
+     */
+    private void visit(String prefix, char c, String word, int[] row, int[] previousRow, char last, String[] words,
+                       LinkedHashSet<Account> found, int limit)
+    {
+        String child = prefix + c;
+        int[] childRow = nextRow(word, row, previousRow, last, c);
+        if(childRow[word.length()] <= 1)
+        {
+            addStartingWith(child, words, found, limit);
+        }
+        else if(min(childRow) <= 1)
+        {
+            walk(child, word, childRow, row, c, words, found, limit);
+        }
+    }
+
+    /**
+     * This function is a helper that gives the edit distances after one more character of a name, counting a
+     * swap of two neighbouring characters as one typo.
+     * @param word - the word being matched
+     * @param row - the distances before the character
+     * @param previousRow - the distances before the character before it, null if there is none
+     * @param last - the character before it
+     * @param c - the character
+     * @return int[] holding the distance between the name so far and every prefix of word
+     */
+    private static int[] nextRow(String word, int[] row, int[] previousRow, char last, char c)
+    {
+        int[] next = new int[row.length];
+        next[0] = row[0] + 1;
+        for(int i = 1; i < next.length; i++)
+        {
+            char w = word.charAt(i - 1);
+            int distance = Math.min(Math.min(row[i] + 1, next[i - 1] + 1), row[i - 1] + (w == c ? 0 : 1));
+            if(previousRow != null && i > 1 && w == last && word.charAt(i - 2) == c)
+            {
+                distance = Math.min(distance, previousRow[i - 2] + 1);
+            }
+            next[i] = distance;
+        }
+        return next;
+    }
+
+    /**
+     * This function is a helper that gives the smallest distance of a row.
+     * @param row - the row
+     * @return int which is the smallest distance
+     */
+    private static int min(int[] row)
+    {
+        int min = row[0];
+        for(int distance : row)
+        {
+            min = Math.min(min, distance);
+        }
+        return min;
+    }
+
+    /**
+     * This function is a helper that checks if every word of the query starts the first or the last name of the
+     * holder of an account, allowing one typo in words of at least MIN_TYPO_LENGTH characters.
+     * @param account - the account being checked
+     * @param words - the folded words of the query
+     * @return true if every word matches one of the names
+     */
+    private static boolean matchesAll(Account account, String[] words)
+    {
+        if(words.length == 1)
+        {
+            return true;
+        }
+        String first = fold(account.holder.getFirstName());
+        String last = fold(account.holder.getLastName());
+        for(String word : words)
+        {
+            if(!startsWithin(first, word) && !startsWithin(last, word))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This function is a helper that checks if a name starts with a word, or with something one typo away from
+     * it when the word has at least MIN_TYPO_LENGTH characters.
+     * @param name - the folded name
+     * @param word - the folded word
+     * @return true if the name starts with the word, give or take a typo
+     */
+    private static boolean startsWithin(String name, String word)
+    {
+        if(name.startsWith(word))
+        {
+            return true;
+        }
+        if(word.length() < MIN_TYPO_LENGTH)
+        {
+            return false;
+        }
+        int[] row = new int[word.length() + 1];
+        for(int i = 0; i < row.length; i++)
+        {
+            row[i] = i;
+        }
+        int[] previousRow = null;
+        char last = 0;
+        for(int i = 0; i < name.length(); i++)
+        {
+            char c = name.charAt(i);
+            int[] next = nextRow(word, row, previousRow, last, c);
+            if(next[word.length()] <= 1)
+            {
+                return true;
+            }
+            if(min(next) > 1)
+            {
+                return false;
+            }
+            previousRow = row;
+            row = next;
+            last = c;
+        }
+        return false;
+    }
+}
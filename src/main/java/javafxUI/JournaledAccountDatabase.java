@@ -0,0 +1,341 @@
+package javafxUI;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * JournaledAccountDatabase is an AccountDatabase that survives a restart. Every change is appended to a
+ * TransactionJournal before it is applied, and opening the database replays the journal, applying the recorded
+ * changes in order to rebuild the accounts as they were. Like AccountDatabase, it is meant to be used by one
+ * thread at a time; the journal forces batches of records to disk in the background. With a snapshot file, the
+ * database writes a snapshot of every account once the journal holds checkpointRecords changes and then empties
+ * the journal, so opening it maps the snapshot and replays only the changes made since. Each snapshot goes to its
+ * own file, named after the snapshot file and the generation it covers, since the one mapped at startup stays
+ * mapped until it is garbage collected and cannot be replaced meanwhile on every platform; older ones are deleted
+ * once a newer one is complete.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class JournaledAccountDatabase extends AccountDatabase implements Closeable {
+
+    public static final long DEFAULT_CHECKPOINT_RECORDS = 1 << 20;
+
+    private TransactionJournal journal;
+    private Path snapshotFile;
+    private long checkpointRecords;
+
+    /**
+     * Constructor that creates an empty database, the journal is attached once it has been replayed.
+     */
+    private JournaledAccountDatabase()
+    {
+
+    }
+
+    /**
+     * Constructor that creates a database holding the accounts of a snapshot, the journal is attached once it has
+     * been replayed.
+     * @param snapshot - the snapshot holding the accounts in the order they were opened
+     */
+    private JournaledAccountDatabase(AccountSnapshot snapshot)
+    {
+        super(snapshot);
+    }
+
+    /**
+     * This function opens a database from its journal with the default flush interval and batch size.
+     * @param file - the journal file, created if it does not exist
+     * @return JournaledAccountDatabase holding the accounts recorded in the journal
+     * @throws IOException if the journal cannot be read or written
+     */
+    public static JournaledAccountDatabase open(Path file) throws IOException
+    {
+        return open(file, TransactionJournal.DEFAULT_FLUSH_INTERVAL_MILLIS, TransactionJournal.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * This function opens a database from its journal, replaying every recorded change.
+     * @param file - the journal file, created if it does not exist
+     * @param flushIntervalMillis - the longest a change waits before it is forced to disk
+     * @param batchSize - the number of changes that are forced to disk together
+     * @return JournaledAccountDatabase holding the accounts recorded in the journal
+     * @throws IOException if the journal cannot be read or written
+     */
+    public static JournaledAccountDatabase open(Path file, long flushIntervalMillis, int batchSize) throws IOException
+    {
+        JournaledAccountDatabase database = new JournaledAccountDatabase();
+        database.journal = TransactionJournal.open(file, flushIntervalMillis, batchSize, database.new Replay());
+        return database;
+    }
+
+    /**
+     * This function opens a database from its snapshot and journal with the default flush interval, batch size and
+     * checkpoint interval.
+     * @param journalFile - the journal file, created if it does not exist
+     * @param snapshotFile - the snapshot file the snapshots are named after, each followed by its generation
+     * @return JournaledAccountDatabase holding the accounts of the snapshot with the journal replayed on top
+     * @throws IOException if the snapshot or the journal cannot be read, or the journal cannot be written
+     */
+    public static JournaledAccountDatabase open(Path journalFile, Path snapshotFile) throws IOException
+    {
+        return open(journalFile, snapshotFile, TransactionJournal.DEFAULT_FLUSH_INTERVAL_MILLIS,
+                TransactionJournal.DEFAULT_BATCH_SIZE, DEFAULT_CHECKPOINT_RECORDS);
+    }
+
+    /**
+     * This function opens a database from its snapshot, mapping the snapshot and replaying only the journal
+     * records made after it.
+     * @param journalFile - the journal file, created if it does not exist
+     * @param snapshotFile - the snapshot file the snapshots are named after, each followed by its generation
+     * @param flushIntervalMillis - the longest a change waits before it is forced to disk
+     * @param batchSize - the number of changes that are forced to disk together
+     * @param checkpointRecords - the number of journaled changes after which a new snapshot is written
+     * @return JournaledAccountDatabase holding the accounts of the snapshot with the journal replayed on top
+     * @throws IOException if the snapshot or the journal cannot be read, or the journal cannot be written
+     * @throws IllegalArgumentException if checkpointRecords is less than 1
+     */
+    public static JournaledAccountDatabase open(Path journalFile, Path snapshotFile, long flushIntervalMillis,
+                                                int batchSize, long checkpointRecords) throws IOException
+    {
+        if(checkpointRecords < 1)
+        {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1 record: " + checkpointRecords);
+        }
+        JournaledAccountDatabase database;
+        long generation = AccountSnapshot.NO_JOURNAL;
+        Path latest = AccountSnapshot.latest(snapshotFile);
+        if(latest != null)
+        {
+            AccountSnapshot snapshot = AccountSnapshot.map(latest);
+            generation = snapshot.getGeneration();
+            database = new JournaledAccountDatabase(snapshot);
+            AccountSnapshot.deleteBefore(snapshotFile, generation);
+        }
+        else
+        {
+            database = new JournaledAccountDatabase();
+        }
+        database.snapshotFile = snapshotFile;
+        database.checkpointRecords = checkpointRecords;
+        database.journal = TransactionJournal.open(journalFile, flushIntervalMillis, batchSize, generation, database.new Replay());
+        return database;
+    }
+
+    /**
+     * This function writes a snapshot of every account covering the current journal generation, then empties the
+     * journal. A crash in between is safe: the journal still holds the snapshot's generation, so it is skipped on
+     * the next start.
+     * @throws IOException if the snapshot or the journal cannot be written
+     * @throws IllegalStateException if the database was opened without a snapshot file
+     */
+    public void checkpoint() throws IOException
+    {
+        if(snapshotFile == null)
+        {
+            throw new IllegalStateException("Database was opened without a snapshot file");
+        }
+        journal.sync();
+        long generation = journal.getGeneration();
+        writeSnapshot(AccountSnapshot.fileOf(snapshotFile, generation), generation);
+        journal.rotate();
+        AccountSnapshot.deleteBefore(snapshotFile, generation);
+    }
+
+    /**
+     * This function is a helper that writes a snapshot once the journal holds checkpointRecords changes.
+     */
+    private void checkpointIfDue()
+    {
+        if(snapshotFile != null && journal.getAppendedCount() >= checkpointRecords)
+        {
+            try
+            {
+                checkpoint();
+            }
+            catch(IOException e)
+            {
+                throw new UncheckedIOException("Checkpoint failed", e);
+            }
+        }
+    }
+
+    /**
+     * Applies the records of the journal to the database without recording them again.
+     */
+    private class Replay implements TransactionJournal.Replay
+    {
+        /**
+         * This function applies a recorded change.
+         * @param operation - the operation that was recorded
+         * @param account - the account the change was made with, null for MONTH_END
+         */
+        @Override
+        public void apply(byte operation, Account account)
+        {
+            switch (operation)
+            {
+                case TransactionJournal.OPEN -> JournaledAccountDatabase.super.open(account);
+                case TransactionJournal.REOPEN -> JournaledAccountDatabase.super.reOpen(account);
+                case TransactionJournal.CLOSE -> JournaledAccountDatabase.super.close(account);
+                case TransactionJournal.DEPOSIT -> JournaledAccountDatabase.super.deposit(account);
+                case TransactionJournal.WITHDRAW -> JournaledAccountDatabase.super.withdraw(account);
+                case TransactionJournal.MONTH_END -> updateBalances();
+                default -> throw new IllegalArgumentException("Unknown journal operation: " + operation);
+            }
+        }
+
+        /**
+         * This function applies recorded balances.
+         * @param balances - balances in cents, one per account starting from the first one opened
+         */
+        @Override
+        public void restoreBalances(long[] balances)
+        {
+            JournaledAccountDatabase.this.restoreBalances(balances);
+        }
+    }
+
+    /**
+     * This function records and adds a new account object to the database.
+     * @param account - The account object that needs to be added.
+     * @return true only after when the account gets added to array successfully.
+     */
+    @Override
+    public boolean open(Account account)
+    {
+        journal.appendAccount(TransactionJournal.OPEN, account);
+        boolean opened = super.open(account);
+        checkpointIfDue();
+        return opened;
+    }
+
+    /**
+     * This function records and reopens an account object.
+     * @param account - account object that needs to be reopened in the array
+     * @return true when the account object is reopened and false when it's not found
+     */
+    @Override
+    public boolean reOpen(Account account)
+    {
+        journal.appendAccount(TransactionJournal.REOPEN, account);
+        boolean reopened = super.reOpen(account);
+        checkpointIfDue();
+        return reopened;
+    }
+
+    /**
+     * This function records and closes an account object.
+     * @param account - The account object that needs to be closed.
+     * @return false if the account object does not exist, true if account is successfully closed.
+     */
+    @Override
+    public boolean close(Account account)
+    {
+        journal.appendAccount(TransactionJournal.CLOSE, account);
+        boolean closed = super.close(account);
+        checkpointIfDue();
+        return closed;
+    }
+
+    /**
+     * This function records and adds in an amount to the balance of an account. A deposit to an account that does
+     * not exist is not recorded, since it fails without changing anything.
+     * @param account - account object in which the balance needs to be added.
+     */
+    @Override
+    public void deposit(Account account)
+    {
+        if(getAccountIfExists(account) != null)
+        {
+            journal.appendAccount(TransactionJournal.DEPOSIT, account);
+        }
+        super.deposit(account);
+        checkpointIfDue();
+    }
+
+    /**
+     * This function records and deducts an amount from the balance of an account. Replaying the record makes the same
+     * sufficient funds check, so a withdrawal that was refused is refused again.
+     * @param account - Account object from which the balance needs to be removed.
+     * @return - true if the amount is available to withdraw from the account's balance
+     *           and the account exists.
+     *         - false if the amount is greater than the available balance or if the account doesn't exist.
+     */
+    @Override
+    public boolean withdraw(Account account)
+    {
+        journal.appendAccount(TransactionJournal.WITHDRAW, account);
+        boolean withdrawn = super.withdraw(account);
+        checkpointIfDue();
+        return withdrawn;
+    }
+
+    /**
+     * This function records the month-end run, then updates every account with the fee and monthly interest and prints it.
+     * @param out - where the report is written
+     * @throws IOException if writing to out fails
+     */
+    @Override
+    public void printWithUpdatedBalance(Appendable out) throws IOException
+    {
+        journal.appendMonthEnd();
+        super.printWithUpdatedBalance(out);
+        checkpointIfDue();
+    }
+
+    /**
+     * This function records the month-end run, then runs it on a fork/join pool.
+     * @param pool - the pool running the update
+     * @param splitThreshold - the number of accounts a single task updates without splitting further
+     * @return - String representing all the information with the updated balance of each account object in the array line by line
+     */
+    @Override
+    public String printWithUpdatedBalance(ForkJoinPool pool, int splitThreshold)
+    {
+        if(splitThreshold < 1)
+        {
+            throw new IllegalArgumentException("Split threshold must be at least 1: " + splitThreshold);
+        }
+        journal.appendMonthEnd();
+        String report = super.printWithUpdatedBalance(pool, splitThreshold);
+        checkpointIfDue();
+        return report;
+    }
+
+    /**
+     * This function records the balances of a columnar store, then writes them back to the accounts.
+     * @param store - store created by toColumnarStore on this database
+     */
+    @Override
+    public void copyBalancesFrom(ColumnarAccountStore store)
+    {
+        if(store.size() > getNumAcct())
+        {
+            throw new IllegalArgumentException("Store holds " + store.size() + " accounts, database holds " + getNumAcct());
+        }
+        journal.appendBalances(store);
+        super.copyBalancesFrom(store);
+        checkpointIfDue();
+    }
+
+    /**
+     * This function waits until every change made so far has been forced to disk.
+     * @throws IOException if the journal could not be written
+     */
+    public void sync() throws IOException
+    {
+        journal.sync();
+    }
+
+    /**
+     * This function forces every change made so far to disk and closes the journal.
+     * @throws IOException if the journal could not be written or closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        journal.close();
+    }
+}
@@ -0,0 +1,247 @@
+package javafxUI;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * LineTokenizer splits one line of UTF-8 bytes into whitespace separated tokens without creating any objects,
+ * by recording where each token starts and ends. It is reset with every line and reuses its arrays, and parses
+ * numbers and dates straight from the bytes, so only the tokens that are really needed as Strings become one.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class LineTokenizer {
+
+    /**
+     * Returned by the parse functions when a token is not a valid number or date.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final int INITIAL_TOKENS = 8;
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private byte[] line;
+    private int[] starts = new int[INITIAL_TOKENS];
+    private int[] ends = new int[INITIAL_TOKENS];
+    private int count;
+
+    /**
+     * This function splits a line into tokens at spaces and tabs.
+     * @param line - the bytes of the line, without the line break
+     * @param length - the number of bytes of the line
+     */
+    void reset(byte[] line, int length)
+    {
+        this.line = line;
+        this.count = 0;
+        int i = 0;
+        while(i < length)
+        {
+            while(i < length && isBlank(line[i]))
+            {
+                i++;
+            }
+            if(i == length)
+            {
+                break;
+            }
+            int start = i;
+            while(i < length && !isBlank(line[i]))
+            {
+                i++;
+            }
+            if(count == starts.length)
+            {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+    }
+
+    /**
+     * This function is a helper that checks if a byte separates tokens.
+     * @param b - the byte
+     * @return true for a space, tab or carriage return
+     */
+    private static boolean isBlank(byte b)
+    {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * @return - int which is the number of tokens on the line.
+     */
+    int count()
+    {
+        return count;
+    }
+
+    /**
+     * This function checks if a token is exactly the given ASCII text.
+     * @param token - the index of the token
+     * @param text - the text being compared with
+     * @return true if the token has the same characters as text
+     */
+    boolean is(int token, String text)
+    {
+        int start = starts[token];
+        int length = ends[token] - start;
+        if(length != text.length())
+        {
+            return false;
+        }
+        for(int i = 0; i < length; i++)
+        {
+            if(line[start + i] != text.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This function gives a token as a String.
+     * @param token - the index of the token
+     * @return String holding the token decoded from UTF-8
+     */
+    String string(int token)
+    {
+        return new String(line, starts[token], ends[token] - starts[token], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This function parses a token as a non-negative whole number.
+     * @param token - the index of the token
+     * @return long holding the number, INVALID if the token is not made of at most 15 digits
+     */
+    long parseWhole(int token)
+    {
+        return parseDigits(starts[token], ends[token]);
+    }
+
+    /**
+     * This function is a helper that parses a run of digits.
+     * @param from - first byte, inclusive
+     * @param to - last byte, exclusive
+     * @return long holding the number, INVALID if the run is empty, too long or not all digits
+     */
+    private long parseDigits(int from, int to)
+    {
+        if(from >= to || to - from > MAX_FAST_DIGITS)
+        {
+            return INVALID;
+        }
+        long value = 0;
+        for(int i = from; i < to; i++)
+        {
+            int digit = line[i] - '0';
+            if(digit < 0 || digit > 9)
+            {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * This function parses a token as an amount of money in dollars and gives it in cents. Amounts with at most two
+     * decimals are parsed exactly from the digits; anything else goes through Double.parseDouble and Money.toCents,
+     * the same way the teller window reads an amount.
+     * @param token - the index of the token
+     * @return long holding the amount in cents, INVALID if the token is not a number
+     */
+    long parseCents(int token)
+    {
+        int start = starts[token];
+        int end = ends[token];
+        boolean negative = line[start] == '-';
+        int digits = negative || line[start] == '+' ? start + 1 : start;
+        int point = digits;
+        while(point < end && line[point] != '.')
+        {
+            point++;
+        }
+        int decimals = point < end ? end - point - 1 : 0;
+        if(decimals <= 2 && point - digits <= MAX_FAST_DIGITS - 2)
+        {
+            long dollars = point == digits ? 0 : parseDigits(digits, point);
+            long cents = decimals == 0 ? 0 : parseDigits(point + 1, end);
+            if(dollars != INVALID && cents != INVALID && (point > digits || decimals > 0))
+            {
+                long amount = dollars * Money.CENTS_PER_DOLLAR + (decimals == 1 ? cents * 10 : cents);
+                return negative ? -amount : amount;
+            }
+        }
+        try
+        {
+            return Money.toCents(Double.parseDouble(string(token)));
+        }
+        catch(IllegalArgumentException e)
+        {
+            return INVALID;
+        }
+    }
+
+    /**
+     * This function parses a token as a date written either as mm/dd/yyyy or as yyyy-mm-dd.
+     * @param token - the index of the token
+     * @return long holding the date packed as yyyymmdd, INVALID if the token is not a date in either form
+     */
+    long parseDate(int token)
+    {
+        int start = starts[token];
+        int end = ends[token];
+        int first = indexOf(start, end, (byte) '/');
+        if(first >= 0)
+        {
+            int second = indexOf(first + 1, end, (byte) '/');
+            return second < 0 ? INVALID : pack(parseDigits(second + 1, end), parseDigits(start, first), parseDigits(first + 1, second));
+        }
+        first = indexOf(start, end, (byte) '-');
+        if(first >= 0)
+        {
+            int second = indexOf(first + 1, end, (byte) '-');
+            return second < 0 ? INVALID : pack(parseDigits(start, first), parseDigits(first + 1, second), parseDigits(second + 1, end));
+        }
+        return INVALID;
+    }
+
+    /**
+     * This function is a helper that finds a byte on the line.
+     * @param from - first byte searched, inclusive
+     * @param to - last byte searched, exclusive
+     * @param b - the byte being searched for
+     * @return int which is the position of the byte, -1 if it is not there
+     */
+    private int indexOf(int from, int to, byte b)
+    {
+        for(int i = from; i < to; i++)
+        {
+            if(line[i] == b)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This function is a helper that packs a year, month and day the way Date.pack does.
+     * @param year - the year
+     * @param month - the month
+     * @param day - the day
+     * @return long holding the packed date, INVALID if any part is missing or out of range
+     */
+    private static long pack(long year, long month, long day)
+    {
+        if(year == INVALID || month == INVALID || day == INVALID || year > 9999 || month > 99 || day > 99)
+        {
+            return INVALID;
+        }
+        return year * 10000 + month * 100 + day;
+    }
+}
@@ -0,0 +1,136 @@
+package javafxUI;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money holds the rules for amounts kept as a whole number of cents in a long. Balances, fees and
+ * interest are all exact in cents; the only rounding happens when a dollar amount given as a double
+ * is converted to cents, and when monthly interest is computed, both half to even.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class Money {
+
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    /**
+     * Interest rates are given in basis points, hundredths of a percent, so 0.1% is 10. Monthly interest
+     * on a balance is balance * rate / (100 * 100 * 12) cents.
+     */
+    public static final long BASIS_POINTS_PER_PERCENT = 100;
+    private static final long MONTHLY_INTEREST_DIVISOR = BASIS_POINTS_PER_PERCENT * 100 * 12;
+
+    /**
+     * Dollar amounts below this size convert to cents exactly with double arithmetic, larger ones go
+     * through BigDecimal.
+     */
+    private static final double FAST_PATH_LIMIT = 1e13;
+
+    private Money()
+    {
+
+    }
+
+    /**
+     * This function converts a whole number of dollars to cents.
+     * @param dollars - amount in dollars
+     * @return long representing the amount in cents
+     */
+    public static long dollarsToCents(long dollars)
+    {
+        return Math.multiplyExact(dollars, CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * This function converts a dollar amount to cents, rounding half to even on the exact binary value
+     * of the double, the same rounding DecimalFormat uses to show it with two decimals.
+     * @param dollars - amount in dollars
+     * @return long representing the amount in cents
+     * @throws IllegalArgumentException if the amount is NaN, infinite or too large for a long number of cents
+     */
+    public static long toCents(double dollars)
+    {
+        double magnitude = Math.abs(dollars);
+        if(magnitude < FAST_PATH_LIMIT)
+        {
+            long cents = roundToCents(magnitude);
+            return dollars < 0 ? -cents : cents;
+        }
+        if(Double.isNaN(dollars) || Double.isInfinite(dollars))
+        {
+            throw new IllegalArgumentException("Amount is not a number: " + dollars);
+        }
+        try
+        {
+            return new BigDecimal(dollars).movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        }
+        catch(ArithmeticException e)
+        {
+            throw new IllegalArgumentException("Amount is too large: " + dollars, e);
+        }
+    }
+
+    /**
+     * This function converts cents to the nearest dollar amount as a double, for the double-based getters.
+     * @param cents - amount in cents
+     * @return double representing the amount in dollars
+     */
+    public static double toDollars(long cents)
+    {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * This function computes one month of interest on a balance, rounded half to even to whole cents.
+     * @param cents - balance in cents
+     * @param annualBasisPoints - annual interest rate in basis points
+     * @return long representing the monthly interest in cents
+     */
+    public static long monthlyInterest(long cents, long annualBasisPoints)
+    {
+        return divideHalfEven(Math.multiplyExact(cents, annualBasisPoints), MONTHLY_INTEREST_DIVISOR);
+    }
+
+    /**
+     * This function divides and rounds the quotient half to even.
+     * @param dividend - the number being divided
+     * @param divisor - the number dividing it, greater than 0
+     * @return long representing the rounded quotient
+     */
+    static long divideHalfEven(long dividend, long divisor)
+    {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long twiceRemainder = 2 * Math.floorMod(dividend, divisor);
+        if(twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) == 1))
+        {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    /**
+     * This function rounds a non-negative dollar amount to whole cents, half to even, on its exact binary value.
+     * Math.fma computes x * y - z with a single rounding, which keeps the sign of the exact difference,
+     * so the comparisons below are exact even though x * 100 on its own is not.
+     * @param magnitude - the amount, at least 0 and below 1e13
+     * @return long representing the rounded number of cents
+     */
+    static long roundToCents(double magnitude)
+    {
+        long cents = (long) (magnitude * CENTS_PER_DOLLAR);
+        if(Math.fma(magnitude, CENTS_PER_DOLLAR, -cents) < 0)
+        {
+            cents--;
+        }
+        else if(Math.fma(magnitude, CENTS_PER_DOLLAR, -(cents + 1)) >= 0)
+        {
+            cents++;
+        }
+        double aboveHalf = Math.fma(magnitude, 2 * CENTS_PER_DOLLAR, -(2 * cents + 1));
+        if(aboveHalf > 0 || (aboveHalf == 0 && (cents & 1) == 1))
+        {
+            cents++;
+        }
+        return cents;
+    }
+}
@@ -0,0 +1,121 @@
+package javafxUI;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * MoneyFormat formats amounts of money the way DecimalFormat("$#,##0.00") does with US symbols,
+ * rounding half to even on the exact binary value of the double, but appends the digits straight
+ * into a caller-supplied StringBuilder without creating a formatter or any intermediate objects.
+ * It has no state, so it is safe to use from any number of threads.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class MoneyFormat {
+
+    public static final String PATTERN = "$#,##0.00";
+
+    /**
+     * Amounts at or above this size, along with NaN and infinity, are handed to DecimalFormat, so the
+     * number of cents and the midpoint test below always fit exactly in a double.
+     */
+    private static final double FAST_PATH_LIMIT = 1e13;
+    private static final int DIGITS_PER_GROUP = 3;
+    private static final ThreadLocal<DecimalFormat> FALLBACK =
+            ThreadLocal.withInitial(() -> new DecimalFormat(PATTERN, DecimalFormatSymbols.getInstance(Locale.US)));
+
+    private MoneyFormat()
+    {
+
+    }
+
+    /**
+     * This function formats an amount of money as a new String.
+     * @param amount - the amount being formatted
+     * @return String in the form $#,##0.00
+     */
+    public static String format(double amount)
+    {
+        return appendTo(new StringBuilder(16), amount).toString();
+    }
+
+    /**
+     * This function appends an amount of money in the form $#,##0.00 to a StringBuilder. Negative amounts,
+     * including those that round to zero, get a leading minus sign, the same as DecimalFormat.
+     * @param s - the StringBuilder the amount is appended to
+     * @param amount - the amount being formatted
+     * @return the same StringBuilder, for chaining
+     */
+    public static StringBuilder appendTo(StringBuilder s, double amount)
+    {
+        double magnitude = Math.abs(amount);
+        if(!(magnitude < FAST_PATH_LIMIT))
+        {
+            return s.append(FALLBACK.get().format(amount));
+        }
+        if(Double.doubleToRawLongBits(amount) < 0)
+        {
+            s.append('-');
+        }
+        long cents = Money.roundToCents(magnitude);
+        return appendDollarsAndCents(s, cents / Money.CENTS_PER_DOLLAR, (int) (cents % Money.CENTS_PER_DOLLAR));
+    }
+
+    /**
+     * This function appends an amount given in cents in the form $#,##0.00 to a StringBuilder.
+     * Negative amounts get a leading minus sign.
+     * @param s - the StringBuilder the amount is appended to
+     * @param cents - the amount in cents
+     * @return the same StringBuilder, for chaining
+     */
+    public static StringBuilder appendCents(StringBuilder s, long cents)
+    {
+        long dollars = cents / Money.CENTS_PER_DOLLAR;
+        int remainder = (int) (cents % Money.CENTS_PER_DOLLAR);
+        if(cents < 0)
+        {
+            s.append('-');
+            dollars = -dollars;
+            remainder = -remainder;
+        }
+        return appendDollarsAndCents(s, dollars, remainder);
+    }
+
+    /**
+     * This function formats an amount given in cents as a new String.
+     * @param cents - the amount in cents
+     * @return String in the form $#,##0.00
+     */
+    public static String formatCents(long cents)
+    {
+        return appendCents(new StringBuilder(16), cents).toString();
+    }
+
+    /**
+     * This function is a helper that appends a non-negative amount without a sign.
+     * @param s - the StringBuilder the amount is appended to
+     * @param dollars - whole dollars, not negative
+     * @param remainder - cents past the whole dollars, 0 to 99
+     * @return the same StringBuilder, for chaining
+     */
+    private static StringBuilder appendDollarsAndCents(StringBuilder s, long dollars, int remainder)
+    {
+        s.append('$');
+        int digits = 1;
+        long power = 1;
+        while(power <= dollars / 10)
+        {
+            power *= 10;
+            digits++;
+        }
+        for(; power > 0; power /= 10, digits--)
+        {
+            s.append((char) ('0' + (dollars / power) % 10));
+            if(digits > 1 && (digits - 1) % DIGITS_PER_GROUP == 0)
+            {
+                s.append(',');
+            }
+        }
+        return s.append('.').append((char) ('0' + remainder / 10)).append((char) ('0' + remainder % 10));
+    }
+}
@@ -1,5 +1,8 @@
 package javafxUI;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 /**
  * MoneyMarket class is the extension of Savings class. It contains the data and specific operations
  * needed to handle a Money Market account.
@@ -9,13 +12,27 @@ public class MoneyMarket extends Savings {
 
 
 
-    private static final double annualInterest = 0.8;
+    static final long annualInterestBasisPoints = 80;
     private static final String accountType = "Money Market Savings";
     public static final int ExpectedBalance = 2500;
-    private static final int monthlyFee = 10;
-    private static final int maximumWithdrawals = 3;
+    static final int monthlyFee = 10;
+    static final int maximumWithdrawals = 3;
     private int withdrawCounter = 0;
 
+    private static final VarHandle WITHDRAW_COUNTER;
+
+    static
+    {
+        try
+        {
+            WITHDRAW_COUNTER = MethodHandles.lookup().findVarHandle(MoneyMarket.class, "withdrawCounter", int.class);
+        }
+        catch(ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * Checks if the passed in object is an instance of Money Market or not,
      * overrides method in Account class.
@@ -34,14 +51,24 @@ public class MoneyMarket extends Savings {
         return false;
     }
 
+    /**
+     * Gives a hash code consistent with equals, overrides method in Savings class.
+     * @return int representing the hash code of the account
+     */
+    @Override
+    public int hashCode()
+    {
+        return 31 * this.holder.hashCode() + accountType.hashCode();
+    }
+
     /**
      * This function is used to get the annual interest rate without loyalty bonus of a Savings account,
      * overrides method in Savings class.
-     * @return - double representing the annual interest without loyalty bonus
+     * @return - long representing the annual interest in basis points without loyalty bonus
      */
     @Override
-    protected double getBaseAnnualInterestRate(){
-        return annualInterest;
+    protected long getBaseAnnualInterestBasisPoints(){
+        return annualInterestBasisPoints;
     }
 
     /**
@@ -53,60 +80,75 @@ public class MoneyMarket extends Savings {
     {
        super.close();
        this.withdrawCounter = 0;
+       markDirty();
     }
 
     /**
      * This function deducts the balance from an account, the amount that should be deducted from the
      * balance is passed in as a parameter, overrides the method in Account class.
-     * @param amount - The amount that needs to be deducted or withdrawn from an account.
+     * @param amount - The amount in cents that needs to be deducted or withdrawn from an account.
      */
     @Override
-    public void withdraw(double amount)
+    public void withdrawCents(long amount)
     {
-        super.withdraw(amount);
+        super.withdrawCents(amount);
         withdrawCounter += 1;
+        markDirty();
+    }
+
+    /**
+     * This function sets the number of withdrawals, when an account is restored from a snapshot.
+     * @param withdrawCounter - number of withdrawals made this month
+     */
+    void setWithdrawCounter(int withdrawCounter)
+    {
+        this.withdrawCounter = withdrawCounter;
+        markDirty();
+    }
+
+    /**
+     * This function counts a withdrawal made by withdrawCentsAtomically, with an atomic increment since
+     * several threads may withdraw at once, overrides method in Account class.
+     */
+    @Override
+    protected void recordWithdrawal()
+    {
+        WITHDRAW_COUNTER.getAndAdd(this, 1);
     }
 
     /**
      * This function returns a monthly fee that an account holder needs to pay on a monthly basis,
      * overrides method in Account class.
-     * @return - a double that represents a monthly fee that an account holder needs to pay on a monthly basis
+     * @return - a long that represents a monthly fee in cents that an account holder needs to pay on a monthly basis
      * depending on the balance.
      */
     @Override
-    public double fee()
+    public long feeCents()
     {
         if(isClosed())
         {
             return 0;
         }
-        if(balance >= ExpectedBalance && withdrawCounter <= maximumWithdrawals)
+        if(balance >= ExpectedBalance * Money.CENTS_PER_DOLLAR && withdrawCounter <= maximumWithdrawals)
         {
             return 0;
         }
         else
         {
-            return monthlyFee;
+            return monthlyFee * Money.CENTS_PER_DOLLAR;
         }
     }
 
     /**
-     *
-     * @return a string that describes the profile info,
-     * how many withdraws an account holder had, and if they are loyal or not.
+     * This function appends the closing or loyalty status and how many withdrawals an account holder had to the
+     * report line, overrides method in Savings class.
+     * @param s - where the status is appended
      */
     @Override
-    public String toString()
+    protected void appendStatus(StringBuilder s)
     {
-        if(this.isLoyal())
-        {
-            return super.toString() + "::withdrawal: " + withdrawCounter;
-        }
-        else if(this.isClosed())
-        {
-            return super.toString() + "::withdrawal: " + withdrawCounter;
-        }
-        return super.toString() + "::withdrawal: " + withdrawCounter;
+        super.appendStatus(s);
+        s.append("::withdrawal: ").append(withdrawCounter);
     }
 
     /**
@@ -140,7 +182,16 @@ public class MoneyMarket extends Savings {
     @Override
     public boolean isLoyal()
     {
-        return this.balance >= ExpectedBalance;
+        return this.balance >= ExpectedBalance * Money.CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * This method gives the number of withdrawals made since the account was opened or reopened.
+     * @return int representing the number of withdrawals.
+     */
+    public int getWithdrawCounter()
+    {
+        return this.withdrawCounter;
     }
 
     /**
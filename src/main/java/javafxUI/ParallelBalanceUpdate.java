@@ -0,0 +1,80 @@
+package javafxUI;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelBalanceUpdate is the fork/join task behind the parallel month-end run. The accounts are cut
+ * into chunks of a fixed number of accounts; the task splits the range of chunks in half until it holds
+ * a single chunk, which it updates with the monthly fee and interest and renders into its own slot of
+ * the report. Each account goes through the database's updateAndDescribe, the same as in the sequential
+ * print, so concatenating the slots in order gives the same report.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+class ParallelBalanceUpdate extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AccountDatabase database;
+    private final Account[] accounts;
+    private final int numAcct;
+    private final int chunkSize;
+    private final StringBuilder[] lines;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    /**
+     * Constructor that creates a task covering a range of chunks.
+     * @param database - the database updating and describing each account
+     * @param accounts - the accounts array of the database
+     * @param numAcct - number of accounts in the array
+     * @param chunkSize - number of accounts updated by one task without splitting further
+     * @param lines - one slot per chunk, filled with the report lines of that chunk
+     * @param firstChunk - first chunk covered, inclusive
+     * @param lastChunk - last chunk covered, exclusive
+     */
+    ParallelBalanceUpdate(AccountDatabase database, Account[] accounts, int numAcct, int chunkSize, StringBuilder[] lines,
+                          int firstChunk, int lastChunk)
+    {
+        this.database = database;
+        this.accounts = accounts;
+        this.numAcct = numAcct;
+        this.chunkSize = chunkSize;
+        this.lines = lines;
+        this.firstChunk = firstChunk;
+        this.lastChunk = lastChunk;
+    }
+
+    /**
+     * This function gives the number of chunks needed to cover the accounts.
+     * @param numAcct - number of accounts
+     * @param chunkSize - number of accounts per chunk
+     * @return int representing the number of chunks
+     */
+    static int chunkCount(int numAcct, int chunkSize)
+    {
+        return (int) (((long) numAcct + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * This function updates and renders a single chunk, or splits the range of chunks in two and runs both halves.
+     */
+    @Override
+    protected void compute()
+    {
+        if(lastChunk - firstChunk == 1)
+        {
+            int from = firstChunk * chunkSize;
+            int to = (int) Math.min((long) from + chunkSize, numAcct);
+            StringBuilder s = new StringBuilder();
+            for(int i = from; i < to; i++)
+            {
+                s.append(database.updateAndDescribe(accounts[i])).append("\n");
+            }
+            lines[firstChunk] = s;
+            return;
+        }
+        int middle = (firstChunk + lastChunk) >>> 1;
+        invokeAll(new ParallelBalanceUpdate(database, accounts, numAcct, chunkSize, lines, firstChunk, middle),
+                new ParallelBalanceUpdate(database, accounts, numAcct, chunkSize, lines, middle, lastChunk));
+    }
+}
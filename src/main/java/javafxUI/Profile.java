@@ -1,14 +1,28 @@
 package javafxUI;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Profile class defines the information of an account holder, which are first name, last name and
- * Date of Birth.
+ * Date of Birth. A profile keeps its case-insensitive hash, computed once, and its date of birth packed in an
+ * interned Date, so comparing two profiles that differ is nearly always one int compare, and the names are only
+ * compared, exactly first and ignoring case only if that fails, when the hashes match. The profiles of the
+ * accounts in a database are interned while any account holds them, so a customer with several accounts has one
+ * Profile and one Date of birth, and comparing their accounts is a reference compare.
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public class Profile {
-    private String fName;
-    private String lName;
-    private Date dob;
+
+    //the interned profiles, keyed by themselves; weak so a profile no account holds anymore is dropped,
+    //and only used while holding its lock
+    private static final Map<Profile, WeakReference<Profile>> INTERNED = new WeakHashMap<>();
+
+    private final String fName;
+    private final String lName;
+    private final Date dob;
+    private final int hash;
 
     /**
      * Constructor that creates a Profile based off the passed in first name,
@@ -22,24 +36,118 @@ public class Profile {
         this.fName = fName;
         this.lName = lName;
         this.dob = dob;
+        this.hash = 31 * (31 * caseFoldedHash(fName) + caseFoldedHash(lName)) + dob.pack();
+    }
+
+    /**
+     * This function gives the interned profile with exactly the same names and date of birth, making this one the
+     * interned profile if no account holds one. A profile whose names only differ by case from an interned one is
+     * equal to it but is not replaced by it, so every account keeps the names as they were entered.
+     * @return Profile holding the same names and date of birth
+     */
+    Profile interned()
+    {
+        synchronized(INTERNED)
+        {
+            WeakReference<Profile> reference = INTERNED.get(this);
+            Profile interned = reference == null ? null : reference.get();
+            if(interned == null)
+            {
+                Date internedDob = Date.unpack(dob.pack());
+                Profile profile = internedDob == dob ? this : new Profile(fName, lName, internedDob);
+                INTERNED.put(profile, new WeakReference<>(profile));
+                return profile;
+            }
+            if(interned.fName.equals(fName) && interned.lName.equals(lName))
+            {
+                return interned;
+            }
+        }
+        return this;
     }
 
     /**
-     * This method checks whether the parameter is an instance of profile or not.
+     * This function is a helper that hashes a name the same way equalsIgnoreCase compares it,
+     * folding each code point to upper case and then to lower case, without allocating a new String.
+     * @param name - the name being hashed
+     * @return int representing the case-insensitive hash of the name
+     */
+    private static int caseFoldedHash(String name)
+    {
+        int hash = 0;
+        for(int i = 0; i < name.length(); )
+        {
+            int codePoint = name.codePointAt(i);
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(codePoint));
+            i += Character.charCount(codePoint);
+        }
+        return hash;
+    }
+
+    /**
+     * This method checks whether the parameter is a profile with the same names, ignoring case, and the same
+     * date of birth.
      * @param obj - object being compared with
-     * @return true if the parameter is an instance of Profile, otherwise returns false.
+     * @return true if the parameter is an equal Profile, otherwise returns false.
      */
     @Override
     public boolean equals(Object obj)
     {
+        if(obj == this)
+        {
+            return true;
+        }
         if(obj instanceof Profile)
         {
             Profile profile = (Profile) obj;
-            return profile.fName.equalsIgnoreCase(this.fName) && profile.lName.equalsIgnoreCase(this.lName) && (profile.dob.compareTo(this.dob) == 0);
+            if(profile.hash != this.hash || profile.dob.pack() != this.dob.pack())
+            {
+                return false;
+            }
+            if(profile.fName.equals(this.fName) && profile.lName.equals(this.lName))
+            {
+                return true;
+            }
+            return profile.fName.equalsIgnoreCase(this.fName) && profile.lName.equalsIgnoreCase(this.lName);
         }
         return false;
     }
 
+    /**
+     * Gives a hash code consistent with equals, so names that only differ by case
+     * hash the same. It is computed once, when the profile is created.
+     * @return int representing the hash code of the profile
+     */
+    @Override
+    public int hashCode()
+    {
+        return this.hash;
+    }
+
+    /**
+     * @return String representing the first name
+     */
+    String getFirstName()
+    {
+        return this.fName;
+    }
+
+    /**
+     * @return String representing the last name
+     */
+    String getLastName()
+    {
+        return this.lName;
+    }
+
+    /**
+     * @return Date object representing the dob
+     */
+    Date getDob()
+    {
+        return this.dob;
+    }
+
     /**
      * This method gives the first name, last name and date of birth of a user.
      * @return a string that contains the first name, last name and date of birth of a user.
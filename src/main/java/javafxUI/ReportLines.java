@@ -0,0 +1,99 @@
+package javafxUI;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * ReportLines holds the text of a report in one buffer, without its line breaks, along with where each line ends,
+ * and gives the lines as a list. A line only becomes a String when it is asked for, so a list view showing a report
+ * of a million accounts only creates Strings for the rows on screen. Blank lines are left out.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class ReportLines extends AbstractList<String> implements RandomAccess {
+
+    private static final int INITIAL_LINES = 64;
+
+    private final StringBuilder text = new StringBuilder();
+    private int[] ends = new int[INITIAL_LINES];
+    private int count;
+    private int lineStart;
+
+    /**
+     * This function adds text to the report, ending a line at every line break.
+     * @param csq - the text being added
+     */
+    void append(CharSequence csq)
+    {
+        int length = csq.length();
+        int from = 0;
+        for(int i = 0; i < length; i++)
+        {
+            if(csq.charAt(i) == '\n')
+            {
+                text.append(csq, from, i);
+                endLine();
+                from = i + 1;
+            }
+        }
+        text.append(csq, from, length);
+    }
+
+    /**
+     * This function adds a character to the report, ending the line if it is a line break.
+     * @param c - the character being added
+     */
+    void append(char c)
+    {
+        if(c == '\n')
+        {
+            endLine();
+        }
+        else
+        {
+            text.append(c);
+        }
+    }
+
+    /**
+     * This function is a helper that records the end of the line being written, dropping it if it is blank.
+     */
+    private void endLine()
+    {
+        int end = text.length();
+        if(end == lineStart)
+        {
+            return;
+        }
+        if(count == ends.length)
+        {
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        ends[count++] = end;
+        lineStart = end;
+    }
+
+    /**
+     * This function gives one line of the report.
+     * @param index - the index of the line
+     * @return String holding the line without its line break
+     */
+    @Override
+    public String get(int index)
+    {
+        if(index < 0 || index >= count)
+        {
+            throw new IndexOutOfBoundsException("Line " + index + " of " + count);
+        }
+        return text.substring(index == 0 ? 0 : ends[index - 1], ends[index]);
+    }
+
+    /**
+     * @return int which is the number of lines that are not blank.
+     */
+    @Override
+    public int size()
+    {
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package javafxUI;
+
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * ReportTask writes one of the teller reports away from the JavaFX Application Thread. Progress is updated as the
+ * lines are written, and a report that only reads the accounts stops at the next line once it is cancelled. The
+ * updated balance report cannot be cancelled, since stopping it would leave only some accounts updated.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class ReportTask extends Task<ReportLines> {
+
+    private static final int PROGRESS_LINES = 1024;
+
+    private final TellerService tellerService;
+    private final TellerService.Report report;
+    private volatile String refusal;
+
+    /**
+     * Constructor that creates a task writing a report.
+     * @param tellerService - the service the report is written by
+     * @param report - the report being written
+     */
+    ReportTask(TellerService tellerService, TellerService.Report report)
+    {
+        this.tellerService = tellerService;
+        this.report = report;
+    }
+
+    /**
+     * @return boolean which is true if the report can be stopped part way.
+     */
+    boolean isCancellable()
+    {
+        return report != TellerService.Report.UPDATED_BALANCE;
+    }
+
+    /**
+     * @return String which is the reason the report was not written, null if it was.
+     */
+    String getRefusal()
+    {
+        return refusal;
+    }
+
+    /**
+     * This function writes the report.
+     * @return ReportLines holding the report, null if it was not written
+     * @throws IOException never, the report is written to memory
+     */
+    @Override
+    protected ReportLines call() throws IOException
+    {
+        ReportLines lines = new ReportLines();
+        TellerResult result = tellerService.report(report, new Progress(lines, tellerService.getAccountDatabase().getNumAcct()));
+        if(!result.isApplied())
+        {
+            refusal = result.getMessage();
+            return null;
+        }
+        return lines;
+    }
+
+    /**
+     * Collects the report and follows the lines written to update the progress of the task.
+     */
+    private final class Progress implements Appendable
+    {
+        private final ReportLines lines;
+        private final long total;
+        private int reported;
+
+        /**
+         * Constructor that creates a counter around the report being built.
+         * @param lines - where the report is built
+         * @param total - the number of accounts being reported
+         */
+        Progress(ReportLines lines, long total)
+        {
+            this.lines = lines;
+            this.total = total;
+        }
+
+        /**
+         * This function is a helper that stops the report if it was cancelled, and updates the progress every
+         * PROGRESS_LINES lines.
+         */
+        private void check()
+        {
+            if(isCancellable() && isCancelled())
+            {
+                throw new CancellationException();
+            }
+            int size = lines.size();
+            if(size - reported >= PROGRESS_LINES)
+            {
+                reported = size;
+                updateProgress(Math.min(size, total), total);
+            }
+        }
+
+        @Override
+        public Appendable append(CharSequence csq)
+        {
+            lines.append(csq);
+            check();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end)
+        {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c)
+        {
+            lines.append(c);
+            check();
+            return this;
+        }
+    }
+}
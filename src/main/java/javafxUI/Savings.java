@@ -7,12 +7,11 @@ package javafxUI;
  * @author Sumanth Rajkumar, Shantanu Jain
  */
 public class Savings extends Account {
-    private static final double ANNUAL_INTEREST = 0.3;
+    static final long ANNUAL_INTEREST_BASIS_POINTS = 30;
     private static final String ACCOUNT_TYPE = "Savings";
-    private static final int EXPECTED_BALANCE = 300;
-    private static final int MONTHLY_FEE = 6;
-    private static final double LOYALTY_BONUS = 0.15;
-    private static final int INTEREST_PERCENT_DIVIDED_BY_TOTAL_MONTHS = 1200;
+    static final int EXPECTED_BALANCE = 300;
+    static final int MONTHLY_FEE = 6;
+    static final long LOYALTY_BONUS_BASIS_POINTS = 15;
     private boolean loyalty;
 
     public static final String LOYAL = "1";
@@ -35,6 +34,16 @@ public class Savings extends Account {
         return false;
     }
 
+    /**
+     * Gives a hash code consistent with equals, overrides method in Account class.
+     * @return int representing the hash code of the account
+     */
+    @Override
+    public int hashCode()
+    {
+        return 31 * this.holder.hashCode() + ACCOUNT_TYPE.hashCode();
+    }
+
     /**
      * This function sets the passed in account object's new balance and sets the boolean
      * closed variable to false by polymorphism and sets the new loyalty,
@@ -46,68 +55,69 @@ public class Savings extends Account {
     {
         super.reOpen(newAccount);
         this.loyalty = ((Savings)newAccount).loyalty;
+        markDirty();
     }
 
     /**
      * This function is used to get the annual interest rate without loyalty bonus of a Savings account.
-     * @return - double representing the annual interest without loyalty bonus
+     * @return - long representing the annual interest in basis points without loyalty bonus
      */
-    protected double getBaseAnnualInterestRate(){
-        return ANNUAL_INTEREST;
+    protected long getBaseAnnualInterestBasisPoints(){
+        return ANNUAL_INTEREST_BASIS_POINTS;
     }
 
     /**
      * This function is used to get the annual interest rate after loyalty rate is added.
-     * @return - double representing the annual interest after loyalty bonus
+     * @return - long representing the loyalty bonus in basis points
      */
-    protected double getLoyaltyBonusRate(){
-        return LOYALTY_BONUS;
+    protected long getLoyaltyBonusBasisPoints(){
+        return LOYALTY_BONUS_BASIS_POINTS;
     }
 
     /**
      * This function is used to get the annual interest rate of a Savings account depending
      * on whether the holder has been loyal or not.
-     * @return - double representing the annual interest depending on loyalty status
+     * @return - long representing the annual interest in basis points depending on loyalty status
      */
-    protected double getAnnualInterestRate()
+    protected long getAnnualInterestBasisPoints()
     {
         if(this.isLoyal())
         {
-            return getBaseAnnualInterestRate() + getLoyaltyBonusRate();
+            return getBaseAnnualInterestBasisPoints() + getLoyaltyBonusBasisPoints();
         }
-        return getBaseAnnualInterestRate();
+        return getBaseAnnualInterestBasisPoints();
     }
 
     /**
      * This function returns a monthly interest, which in this case would be balance*annualInterest/1200,
-     * overrides method in Account class.
-     * @return The monthly interest that an account holder gets on his account.
+     * rounded half to even to whole cents, overrides method in Account class.
+     * @return The monthly interest in cents that an account holder gets on his account.
      */
     @Override
-    public double monthlyInterest() {
-        return getBalance()*getAnnualInterestRate()/ INTEREST_PERCENT_DIVIDED_BY_TOTAL_MONTHS;
+    public long monthlyInterestCents() {
+        return Money.monthlyInterest(balance, getAnnualInterestBasisPoints());
     }
 
     /**
      * This function returns a monthly fee that an account holder needs to pay on a monthly basis,
      * overrides method in Account class.
-     * @return - a double that represents a monthly fee that an account holder needs to pay on a monthly basis
+     * @return - a long that represents a monthly fee in cents that an account holder needs to pay on a monthly basis
      * depending on the balance.
      */
     @Override
-    public double fee()
+    public long feeCents()
     {
         if(isClosed())
         {
             return 0;
         }
-        if(balance >= EXPECTED_BALANCE)
+        if(balance >= EXPECTED_BALANCE * Money.CENTS_PER_DOLLAR)
         {
             return 0;
         }
         else
         {
-            return MONTHLY_FEE;
+            return MONTHLY_FEE * Money.CENTS_PER_DOLLAR;
         }
     }
 
@@ -122,23 +132,20 @@ public class Savings extends Account {
     }
 
     /**
-     * This function gives the account info, profile info, closing status, and loyalty status
+     * This function appends the closing status or the loyalty status to the report line,
      * overrides method in Account class.
-     * @return a String that describes the account type and weather the account holder
-     * is loyal or not.
+     * @param s - where the status is appended
      */
     @Override
-    public String toString()
+    protected void appendStatus(StringBuilder s)
     {
         if(this.isClosed())
         {
-            return getType() + "::" + super.toString() + "::CLOSED";
+            s.append("::CLOSED");
         }
         else if(this.isLoyal()) {
-            return getType() + "::" + super.toString() + "::Loyal";
+            s.append("::Loyal");
         }
-
-        return getType() + "::" + super.toString();
     }
 
     /**
@@ -148,6 +155,7 @@ public class Savings extends Account {
     public void setLoyalty(boolean loyalty)
     {
         this.loyalty = loyalty;
+        markDirty();
     }
 
     /**
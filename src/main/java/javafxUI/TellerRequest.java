@@ -0,0 +1,168 @@
+package javafxUI;
+
+/**
+ * TellerRequest is the abstract superclass of the requests a TellerService carries out: the account type and the
+ * holder's first name, last name and date of birth, as entered by the teller. The subclasses add what each
+ * operation needs. Requests only carry the input; every check is made by the TellerService, so a missing name or
+ * date of birth is passed as null and an amount that could not be read as INVALID_AMOUNT.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public abstract class TellerRequest {
+
+    /**
+     * Amount given by a front end when the amount entered is blank or not a number.
+     */
+    public static final long INVALID_AMOUNT = Long.MIN_VALUE;
+
+    private final AccountType type;
+    private final String firstName;
+    private final String lastName;
+    private final Date dob;
+
+    /**
+     * Constructor that creates a request on the account of a holder.
+     * @param type - the type of the account
+     * @param firstName - String representing the first name, null if missing
+     * @param lastName - String representing the last name, null if missing
+     * @param dob - Date object representing the dob, null if missing
+     */
+    protected TellerRequest(AccountType type, String firstName, String lastName, Date dob)
+    {
+        this.type = type;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dob = dob;
+    }
+
+    /**
+     * @return AccountType which is the type of the account.
+     */
+    public AccountType getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return String which is the first name as entered, null if missing.
+     */
+    public String getFirstName()
+    {
+        return firstName;
+    }
+
+    /**
+     * @return String which is the last name as entered, null if missing.
+     */
+    public String getLastName()
+    {
+        return lastName;
+    }
+
+    /**
+     * @return Date which is the date of birth, null if missing.
+     */
+    public Date getDob()
+    {
+        return dob;
+    }
+
+    /**
+     * Request to open an account, or to reopen a closed account of the same type.
+     */
+    public static final class Open extends TellerRequest
+    {
+        private final long amountCents;
+        private final College campus;
+        private final boolean loyal;
+
+        /**
+         * Constructor that creates a request to open an account.
+         * @param type - the type of the account
+         * @param firstName - String representing the first name, null if missing
+         * @param lastName - String representing the last name, null if missing
+         * @param dob - Date object representing the dob, null if missing
+         * @param amountCents - the initial deposit in cents, INVALID_AMOUNT if it could not be read
+         * @param campus - campus of a College Checking account, ignored for the other types
+         * @param loyal - loyalty of a Savings account, ignored for the other types
+         */
+        public Open(AccountType type, String firstName, String lastName, Date dob, long amountCents, College campus, boolean loyal)
+        {
+            super(type, firstName, lastName, dob);
+            this.amountCents = amountCents;
+            this.campus = campus;
+            this.loyal = loyal;
+        }
+
+        /**
+         * @return long which is the initial deposit in cents.
+         */
+        public long getAmountCents()
+        {
+            return amountCents;
+        }
+
+        /**
+         * @return College which is the campus of a College Checking account.
+         */
+        public College getCampus()
+        {
+            return campus;
+        }
+
+        /**
+         * @return boolean which is true for a loyal Savings customer.
+         */
+        public boolean isLoyal()
+        {
+            return loyal;
+        }
+    }
+
+    /**
+     * Request to close an account.
+     */
+    public static final class Close extends TellerRequest
+    {
+        /**
+         * Constructor that creates a request to close an account.
+         * @param type - the type of the account
+         * @param firstName - String representing the first name, null if missing
+         * @param lastName - String representing the last name, null if missing
+         * @param dob - Date object representing the dob, null if missing
+         */
+        public Close(AccountType type, String firstName, String lastName, Date dob)
+        {
+            super(type, firstName, lastName, dob);
+        }
+    }
+
+    /**
+     * Request to deposit to or withdraw from an account.
+     */
+    public static final class Transaction extends TellerRequest
+    {
+        private final long amountCents;
+
+        /**
+         * Constructor that creates a request to move an amount in or out of an account.
+         * @param type - the type of the account
+         * @param firstName - String representing the first name, null if missing
+         * @param lastName - String representing the last name, null if missing
+         * @param dob - Date object representing the dob, null if missing
+         * @param amountCents - the amount in cents, INVALID_AMOUNT if it could not be read
+         */
+        public Transaction(AccountType type, String firstName, String lastName, Date dob, long amountCents)
+        {
+            super(type, firstName, lastName, dob);
+            this.amountCents = amountCents;
+        }
+
+        /**
+         * @return long which is the amount in cents.
+         */
+        public long getAmountCents()
+        {
+            return amountCents;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package javafxUI;
+
+/**
+ * TellerResult is the outcome of a request carried out by a TellerService: whether the request was applied, and the
+ * message the teller window shows for it.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public final class TellerResult {
+
+    private final boolean applied;
+    private final String message;
+
+    /**
+     * Constructor that creates a result.
+     * @param applied - true if the request changed the database or wrote its report
+     * @param message - the message for the teller, empty for a report that was written
+     */
+    TellerResult(boolean applied, String message)
+    {
+        this.applied = applied;
+        this.message = message;
+    }
+
+    /**
+     * @return boolean which is true if the request was applied, false if it was refused.
+     */
+    public boolean isApplied()
+    {
+        return applied;
+    }
+
+    /**
+     * @return String which is the message for the teller, the reason the request was refused if it was.
+     */
+    public String getMessage()
+    {
+        return message;
+    }
+
+    /**
+     * @return String which is the message for the teller.
+     */
+    @Override
+    public String toString()
+    {
+        return message;
+    }
+}
@@ -0,0 +1,371 @@
+package javafxUI;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * TellerService holds the rules of the teller: it checks each request, finds the account it is about and applies
+ * it to an AccountDatabase, giving back the same message the teller window shows. It does not depend on JavaFX, so
+ * the teller window, batch files and load generators all go through the same checks. It is as thread-safe as the
+ * database it works on: each check that decides whether a change is made, like the account not being there yet or
+ * being open, is made by the database together with the change.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class TellerService {
+
+    public static final String MISSING_OPENING_DATA = "Missing data for opening an account.";
+    public static final String MISSING_CLOSING_DATA = "Missing data for closing an account.";
+    public static final String MISSING_DEPOSIT_DATA = "Missing data for depositing to an account.";
+    public static final String MISSING_WITHDRAW_DATA = "Missing data for withdrawing from an account.";
+    public static final String MISSING_CUSTOMER_DATA = "Missing data for listing a customer's accounts.";
+    public static final int SEARCH_LIMIT = 100;
+
+    private static final TellerResult INVALID_TYPE = refused("Invalid Account Type");
+    private static final TellerResult MISSING_DOB = refused("Missing Date of Birth.");
+    private static final TellerResult FUTURE_DOB = refused("Date of birth invalid, it's a future date.");
+    private static final TellerResult INVALID_AMOUNT = refused("Amount can't be blank or invalid.");
+    private static final TellerResult INVALID_OPENING_AMOUNT = refused("Initial deposit cannot be 0 or negative.");
+    private static final TellerResult INVALID_DEPOSIT_AMOUNT = refused("Deposit - amount cannot be 0 or negative.");
+    private static final TellerResult INVALID_WITHDRAW_AMOUNT = refused("Withdraw - amount cannot be 0 or negative.");
+    private static final TellerResult INVALID_CAMPUS = refused("Invalid campus code.");
+    private static final TellerResult MINIMUM_DEPOSIT = refused("Minimum of $" + MoneyMarket.ExpectedBalance + " to open a MoneyMarket account.");
+    private static final TellerResult ALREADY_CLOSED = refused("Account is closed already.");
+    private static final TellerResult DEPOSIT_CLOSED = refused("Cannot deposit into a closed account.");
+    private static final TellerResult WITHDRAW_CLOSED = refused("Cannot withdraw from a closed account.");
+    private static final TellerResult INSUFFICIENT_FUND = refused("Withdraw - insufficient fund.");
+    private static final TellerResult EMPTY_DATABASE = refused("Account Database is empty!");
+    private static final TellerResult OPENED = applied("Account opened.");
+    private static final TellerResult REOPENED = applied("Account reopened.");
+    private static final TellerResult CLOSED = applied("Account closed.");
+    private static final TellerResult DEPOSITED = applied("Deposit - balance updated.");
+    private static final TellerResult WITHDRAWN = applied("Withdraw - balance updated.");
+    private static final TellerResult REPORTED = applied("");
+    private static final TellerResult CUSTOMER_LISTED = applied("Customer accounts listed.");
+
+    /**
+     * The reports a teller can print, with the lines written before and after the accounts.
+     */
+    public enum Report
+    {
+        ACCOUNTS("*list of accounts in the database*", "*end of list*"),
+        BY_ACCOUNT_TYPE("*list of accounts by account type.", "*end of list."),
+        FEE_AND_INTEREST("*list of accounts with fee and monthly interest", "*end of list."),
+        UPDATED_BALANCE("*list of accounts with updated balance", "*end of list.");
+
+        private final String header;
+        private final String footer;
+
+        /**
+         * Constructor of this enum.
+         * @param header - the line written before the accounts
+         * @param footer - the line written after the accounts
+         */
+        Report(String header, String footer)
+        {
+            this.header = header;
+            this.footer = footer;
+        }
+    }
+
+    private final AccountDatabase accountDatabase;
+
+    /**
+     * Constructor that creates a service working on a database.
+     * @param accountDatabase - the database the requests are applied to
+     */
+    public TellerService(AccountDatabase accountDatabase)
+    {
+        this.accountDatabase = accountDatabase;
+    }
+
+    /**
+     * @return AccountDatabase which is the database the requests are applied to.
+     */
+    public AccountDatabase getAccountDatabase()
+    {
+        return accountDatabase;
+    }
+
+    /**
+     * This function is a helper that creates a result for a request that was applied.
+     * @param message - the message for the teller
+     * @return TellerResult holding the message
+     */
+    private static TellerResult applied(String message)
+    {
+        return new TellerResult(true, message);
+    }
+
+    /**
+     * This function is a helper that creates a result for a request that was refused.
+     * @param message - the reason the request was refused
+     * @return TellerResult holding the message
+     */
+    private static TellerResult refused(String message)
+    {
+        return new TellerResult(false, message);
+    }
+
+    /**
+     * This function is a helper that checks if a name was entered.
+     * @param name - the name as entered
+     * @return true if the name is missing or blank
+     */
+    private static boolean isBlank(String name)
+    {
+        return name == null || name.isBlank();
+    }
+
+    /**
+     * This function is a helper that checks the account type and holder of a request.
+     * @param request - the request being checked
+     * @param missingData - the message when a name is missing
+     * @return TellerResult holding the reason the request is refused, null if the holder is valid
+     */
+    private static TellerResult checkHolder(TellerRequest request, String missingData)
+    {
+        if(request.getType() == null)
+        {
+            return INVALID_TYPE;
+        }
+        if(isBlank(request.getFirstName()) || isBlank(request.getLastName()))
+        {
+            return refused(missingData);
+        }
+        if(request.getDob() == null)
+        {
+            return MISSING_DOB;
+        }
+        return request.getDob().isInTheFuture() ? FUTURE_DOB : null;
+    }
+
+    /**
+     * This function is a helper that creates the account a checked request is about.
+     * @param request - the request
+     * @param college - campus of a College Checking account, null if none was chosen
+     * @param loyal - loyalty of a Savings account
+     * @return Account of the requested type with its holder set
+     */
+    private static Account newAccount(TellerRequest request, College college, boolean loyal)
+    {
+        Account account = request.getType().newAccount(college, loyal);
+        account.setHolder(request.getFirstName().trim(), request.getLastName().trim(), request.getDob());
+        return account;
+    }
+
+    /**
+     * This function is a helper that checks the amount of a request.
+     * @param amountCents - the amount in cents
+     * @param notPositive - the result when the amount is 0 or negative
+     * @return TellerResult holding the reason the amount is refused, null if it is valid
+     */
+    private static TellerResult checkAmount(long amountCents, TellerResult notPositive)
+    {
+        if(amountCents == TellerRequest.INVALID_AMOUNT)
+        {
+            return INVALID_AMOUNT;
+        }
+        return amountCents <= 0 ? notPositive : null;
+    }
+
+    /**
+     * This function is a helper that gives the result for an account that is not in the database.
+     * @param account - the account that was looked for
+     * @return TellerResult naming the holder, date of birth and account type
+     */
+    private static TellerResult notInDatabase(Account account)
+    {
+        return refused(account.holder.getFirstName() + " " + account.holder.getLastName() + " " + account.holder.getDob()
+                + " " + account.getShortType() + " is not in the database.");
+    }
+
+    /**
+     * This function opens an account, or reopens a closed account of the same type.
+     * @param request - the account type, holder, initial deposit, campus and loyalty
+     * @return TellerResult telling if the account was opened or reopened, or why not
+     */
+    public TellerResult open(TellerRequest.Open request)
+    {
+        TellerResult refusal = checkHolder(request, MISSING_OPENING_DATA);
+        if(refusal == null)
+        {
+            refusal = checkAmount(request.getAmountCents(), INVALID_OPENING_AMOUNT);
+        }
+        if(refusal != null)
+        {
+            return refusal;
+        }
+        if(request.getType() == AccountType.COLLEGE_CHECKING && request.getCampus() == null)
+        {
+            return INVALID_CAMPUS;
+        }
+        Account account = newAccount(request, request.getCampus(), request.isLoyal());
+        account.setBalanceCents(request.getAmountCents());
+        if(account instanceof MoneyMarket && !((MoneyMarket) account).hasMinimumInitialDeposit()
+                && accountDatabase.getAccountIfExists(account) == null)
+        {
+            return MINIMUM_DEPOSIT;
+        }
+        if(accountDatabase.openIfAbsent(account) == null)
+        {
+            return OPENED;
+        }
+        if(accountDatabase.reOpenIfClosed(account))
+        {
+            return REOPENED;
+        }
+        return refused(account.holder.getFirstName() + " " + account.holder.getLastName() + " " + account.holder.getDob()
+                + "  same account(type) is in the database.");
+    }
+
+    /**
+     * This function closes an account.
+     * @param request - the account type and holder
+     * @return TellerResult telling if the account was closed, or why not
+     */
+    public TellerResult close(TellerRequest.Close request)
+    {
+        TellerResult refusal = checkHolder(request, MISSING_CLOSING_DATA);
+        if(refusal != null)
+        {
+            return refusal;
+        }
+        Account account = newAccount(request, null, false);
+        Account existing = accountDatabase.getAccountIfExists(account);
+        if(existing == null || !existing.getType().equals(account.getType()))
+        {
+            return notInDatabase(account);
+        }
+        return accountDatabase.closeIfOpen(existing) ? CLOSED : ALREADY_CLOSED;
+    }
+
+    /**
+     * This function deposits an amount to an account.
+     * @param request - the account type, holder and amount
+     * @return TellerResult telling if the balance was updated, or why not
+     */
+    public TellerResult deposit(TellerRequest.Transaction request)
+    {
+        TellerResult refusal = checkHolder(request, MISSING_DEPOSIT_DATA);
+        if(refusal == null)
+        {
+            refusal = checkAmount(request.getAmountCents(), INVALID_DEPOSIT_AMOUNT);
+        }
+        if(refusal != null)
+        {
+            return refusal;
+        }
+        Account account = newAccount(request, null, false);
+        account.setBalanceCents(request.getAmountCents());
+        Account existing = accountDatabase.getAccountIfExists(account);
+        if(existing == null || !existing.getType().equals(account.getType()))
+        {
+            return notInDatabase(account);
+        }
+        return accountDatabase.depositIfOpen(account) ? DEPOSITED : DEPOSIT_CLOSED;
+    }
+
+    /**
+     * This function withdraws an amount from an account.
+     * @param request - the account type, holder and amount
+     * @return TellerResult telling if the balance was updated, or why not
+     */
+    public TellerResult withdraw(TellerRequest.Transaction request)
+    {
+        TellerResult refusal = checkHolder(request, MISSING_WITHDRAW_DATA);
+        if(refusal == null)
+        {
+            refusal = checkAmount(request.getAmountCents(), INVALID_WITHDRAW_AMOUNT);
+        }
+        if(refusal != null)
+        {
+            return refusal;
+        }
+        Account account = newAccount(request, null, false);
+        account.setBalanceCents(request.getAmountCents());
+        Account existing = accountDatabase.getAccountIfExists(account);
+        if(existing == null || !existing.getType().equals(account.getType()))
+        {
+            return notInDatabase(account);
+        }
+        if(existing.isClosed())
+        {
+            return WITHDRAW_CLOSED;
+        }
+        if(accountDatabase.withdraw(account))
+        {
+            return WITHDRAWN;
+        }
+        //a closed account holds nothing, so one closed after the check above fails the withdrawal on its funds
+        return existing.isClosed() ? WITHDRAW_CLOSED : INSUFFICIENT_FUND;
+    }
+
+    /**
+     * This function finds the accounts of the holders whose first or last name starts with every word entered,
+     * give or take a typo, for when only part of a customer's name is known.
+     * @param query - part of the holder's names, the words separated by spaces
+     * @return List of the report lines of at most SEARCH_LIMIT accounts, the exact matches first, empty if nothing
+     * was entered
+     */
+    public List<String> searchHolders(String query)
+    {
+        return query == null ? List.of() : accountDatabase.describeHolders(query, SEARCH_LIMIT);
+    }
+
+    /**
+     * This function lists every account of a customer, open or closed, followed by their combined balance.
+     * @param firstName - the first name as entered, null if missing
+     * @param lastName - the last name as entered, null if missing
+     * @param dob - the date of birth, null if missing
+     * @param lines - where the report lines and the combined balance line are added
+     * @return TellerResult telling if the accounts were listed, or why not
+     */
+    public TellerResult describeCustomer(String firstName, String lastName, Date dob, List<String> lines)
+    {
+        if(isBlank(firstName) || isBlank(lastName))
+        {
+            return refused(MISSING_CUSTOMER_DATA);
+        }
+        if(dob == null)
+        {
+            return MISSING_DOB;
+        }
+        if(dob.isInTheFuture())
+        {
+            return FUTURE_DOB;
+        }
+        List<String> found = accountDatabase.describeAccounts(new Profile(firstName.trim(), lastName.trim(), dob));
+        if(found.isEmpty())
+        {
+            return refused(firstName.trim() + " " + lastName.trim() + " " + dob + " has no account in the database.");
+        }
+        lines.addAll(found);
+        return CUSTOMER_LISTED;
+    }
+
+    /**
+     * This function writes one of the reports between its header and footer, each report line as soon as it is
+     * formatted. The updated balance report also applies the fee and monthly interest to every account.
+     * @param report - the report being written
+     * @param out - where the report is written
+     * @return TellerResult with no message if the report was written, refused if the database is empty
+     * @throws IOException if writing to out fails
+     */
+    public TellerResult report(Report report, Appendable out) throws IOException
+    {
+        if(accountDatabase.getNumAcct() == 0)
+        {
+            return EMPTY_DATABASE;
+        }
+        out.append('\n').append(report.header).append('\n');
+        switch (report)
+        {
+            case ACCOUNTS -> accountDatabase.print(out);
+            case BY_ACCOUNT_TYPE -> accountDatabase.printByAccountType(out);
+            case FEE_AND_INTEREST -> accountDatabase.printFeeAndInterest(out);
+            case UPDATED_BALANCE -> accountDatabase.printWithUpdatedBalance(out);
+        }
+        out.append(report.footer).append("\n\n");
+        return REPORTED;
+    }
+}
@@ -0,0 +1,61 @@
+package javafxUI;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Today keeps the date of today read from a Clock, packed the way Date packs it, and only reads the date again
+ * once the clock has passed midnight. Until then finding today's date is one read of the clock's time, without
+ * creating a Calendar or a LocalDate. A fixed Clock makes today any day wanted, like when replaying a past day.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+final class Today {
+
+    private final Clock clock;
+    private volatile Day day;
+
+    /**
+     * Constructor that creates today's date read from a clock.
+     * @param clock - the clock giving the time and the time zone
+     */
+    Today(Clock clock)
+    {
+        this.clock = clock;
+        this.day = new Day(clock);
+    }
+
+    /**
+     * This function gives today's date, reading it again from the clock only when the cached day is over.
+     * @return int representing today's date packed as yyyymmdd
+     */
+    int packed()
+    {
+        Day current = day;
+        if(clock.millis() >= current.endMillis)
+        {
+            current = new Day(clock);
+            day = current;
+        }
+        return current.packed;
+    }
+
+    /**
+     * Day is one day of the clock: its date, and the time at which the next day starts.
+     */
+    private static final class Day {
+
+        private final int packed;
+        private final long endMillis;
+
+        /**
+         * Constructor that reads the current day of a clock.
+         * @param clock - the clock giving the time and the time zone
+         */
+        private Day(Clock clock)
+        {
+            LocalDate date = LocalDate.now(clock);
+            this.packed = date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+            this.endMillis = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        }
+    }
+}
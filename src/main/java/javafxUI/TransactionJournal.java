@@ -0,0 +1,732 @@
+package javafxUI;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * TransactionJournal is an append-only binary log of the changes made to an AccountDatabase. A record is added to
+ * an in-memory batch before its change is applied, and a background thread writes the batch to the file and forces
+ * it to disk once it holds batchSize records or the flush interval has passed since its first record, so many
+ * changes share one fsync. A crash loses at most the batch that was not forced yet; sync() waits until everything
+ * appended so far is on disk. The file starts with a magic number and a generation, followed by records of the form
+ * [int length][byte operation][payload][int CRC32 of operation and payload], so replay stops cleanly at a record
+ * that was only partly written and the rest of the file is cut off before appending resumes. Once a snapshot of
+ * the database has been written, rotate() empties the journal and starts the next generation; a snapshot records
+ * the generation it covers, so on startup the records of that generation are skipped and only the next one is replayed.
+ * Any number of threads may append at once; while the journal rotates, new records wait until the next generation
+ * has started, so every record lands in the generation it was appended in.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+public class TransactionJournal implements Closeable {
+
+    public static final byte OPEN = 1;
+    public static final byte REOPEN = 2;
+    public static final byte CLOSE = 3;
+    public static final byte DEPOSIT = 4;
+    public static final byte WITHDRAW = 5;
+    public static final byte MONTH_END = 6;
+    public static final byte BALANCES = 7;
+
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private static final int MAGIC = 0x42544A31;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int ACCOUNT_FIXED_BYTES = 3 * Byte.BYTES + Integer.BYTES + Long.BYTES + 2 * Short.BYTES;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int INITIAL_BATCH_BYTES = 1 << 16;
+    private static final int MAX_PENDING_BYTES = 1 << 26;
+    private static final byte NO_COLLEGE = -1;
+
+    private final FileChannel channel;
+    private final long flushIntervalNanos;
+    private final int batchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 checksum = new CRC32();
+    private final Thread flusher;
+
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BATCH_BYTES);
+    private int pendingRecords;
+    private long appended;
+    private long durable;
+    private long requested;
+    private long generationStart;
+    private long generation;
+    private boolean rotating;
+    private boolean closing;
+    private IOException failure;
+
+    /**
+     * Receives the records of a journal while it is replayed, in the order they were appended.
+     */
+    public interface Replay
+    {
+        /**
+         * This function applies a record that carries an account.
+         * @param operation - one of OPEN, REOPEN, CLOSE, DEPOSIT, WITHDRAW, or MONTH_END with a null account
+         * @param account - the account the change was made with
+         */
+        void apply(byte operation, Account account);
+
+        /**
+         * This function applies a BALANCES record.
+         * @param balances - balances in cents, one per account starting from the first one opened
+         */
+        void restoreBalances(long[] balances);
+    }
+
+    /**
+     * Constructor that starts appending to a channel positioned at the end of its last whole record.
+     * @param channel - the journal file
+     * @param flushIntervalMillis - the longest a record waits before its batch is forced to disk
+     * @param batchSize - the number of records that forces a batch to disk right away
+     * @param generation - the generation in the header of the file
+     */
+    private TransactionJournal(FileChannel channel, long flushIntervalMillis, int batchSize, long generation)
+    {
+        this.channel = channel;
+        this.generation = generation;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.batchSize = batchSize;
+        this.flusher = new Thread(this::flushBatches, "transaction-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * This function opens a journal with the default flush interval and batch size, replaying its records first.
+     * @param file - the journal file, created if it does not exist
+     * @param replay - receives the records already in the file
+     * @return TransactionJournal appending after the last whole record
+     * @throws IOException if the file cannot be read or written, or is not a journal
+     */
+    public static TransactionJournal open(Path file, Replay replay) throws IOException
+    {
+        return open(file, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_BATCH_SIZE, replay);
+    }
+
+    /**
+     * This function opens a journal, replays the records already in it, cuts off a partly written last record
+     * and starts appending after the last whole one.
+     * @param file - the journal file, created if it does not exist
+     * @param flushIntervalMillis - the longest a record waits before its batch is forced to disk
+     * @param batchSize - the number of records that forces a batch to disk right away
+     * @param replay - receives the records already in the file
+     * @return TransactionJournal appending after the last whole record
+     * @throws IOException if the file cannot be read or written, or is not a journal
+     * @throws IllegalArgumentException if flushIntervalMillis is negative or batchSize is less than 1
+     */
+    public static TransactionJournal open(Path file, long flushIntervalMillis, int batchSize, Replay replay) throws IOException
+    {
+        return open(file, flushIntervalMillis, batchSize, AccountSnapshot.NO_JOURNAL, replay);
+    }
+
+    /**
+     * This function opens the journal that follows a snapshot. A journal of the generation after the snapshot's is
+     * replayed; a journal of the snapshot's own generation is already part of the snapshot, so it is emptied instead.
+     * @param file - the journal file, created if it does not exist
+     * @param flushIntervalMillis - the longest a record waits before its batch is forced to disk
+     * @param batchSize - the number of records that forces a batch to disk right away
+     * @param snapshotGeneration - the generation the snapshot covers, AccountSnapshot.NO_JOURNAL without a snapshot
+     * @param replay - receives the records already in the file
+     * @return TransactionJournal appending after the last whole record
+     * @throws IOException if the file cannot be read or written, is not a journal or does not follow the snapshot
+     * @throws IllegalArgumentException if flushIntervalMillis is negative or batchSize is less than 1
+     */
+    public static TransactionJournal open(Path file, long flushIntervalMillis, int batchSize, long snapshotGeneration,
+                                          Replay replay) throws IOException
+    {
+        if(flushIntervalMillis < 0)
+        {
+            throw new IllegalArgumentException("Flush interval cannot be negative: " + flushIntervalMillis);
+        }
+        if(batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be at least 1: " + batchSize);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try
+        {
+            long generation = snapshotGeneration + 1;
+            long end = HEADER_BYTES;
+            if(channel.size() < HEADER_BYTES)
+            {
+                writeHeader(channel, generation);
+            }
+            else
+            {
+                long found = readGeneration(channel);
+                if(found == generation)
+                {
+                    end = replay(channel, replay);
+                    channel.truncate(end);
+                }
+                else if(found == snapshotGeneration)
+                {
+                    writeHeader(channel, generation);
+                }
+                else
+                {
+                    throw new IOException("Journal generation " + found + " does not follow snapshot generation " + snapshotGeneration);
+                }
+            }
+            channel.position(end);
+            return new TransactionJournal(channel, flushIntervalMillis, batchSize, generation);
+        }
+        catch(IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This function is a helper that empties a journal file and writes its header.
+     * @param channel - the journal file
+     * @param generation - the generation of the records that will follow
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeHeader(FileChannel channel, long generation) throws IOException
+    {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putLong(generation).flip();
+        while(header.hasRemaining())
+        {
+            channel.write(header, header.position());
+        }
+        channel.force(false);
+    }
+
+    /**
+     * This function is a helper that reads the generation from the header of a journal file.
+     * @param channel - the journal file, at least as long as the header
+     * @return long which is the generation of the records in the file
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    private static long readGeneration(FileChannel channel) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while(header.hasRemaining())
+        {
+            if(channel.read(header, header.position()) < 0)
+            {
+                throw new EOFException("Journal header is incomplete");
+            }
+        }
+        if(header.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a transaction journal");
+        }
+        return header.getLong(Integer.BYTES);
+    }
+
+    /**
+     * This function is a helper that reads every whole record of a journal and hands it to replay.
+     * @param channel - the journal file, at least as long as the header
+     * @param replay - receives the records
+     * @return long which is the offset just past the last whole record
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    private static long replay(FileChannel channel, Replay replay) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(HEADER_BYTES))));
+        long size = channel.size();
+        long end = HEADER_BYTES;
+        CRC32 checksum = new CRC32();
+        try
+        {
+            while(true)
+            {
+                int length = in.readInt();
+                if(length < 1 || length > size - end - Integer.BYTES * 2)
+                {
+                    return end;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                int expected = in.readInt();
+                checksum.reset();
+                checksum.update(record);
+                if((int) checksum.getValue() != expected)
+                {
+                    return end;
+                }
+                decode(ByteBuffer.wrap(record), replay);
+                end += Integer.BYTES + length + Integer.BYTES;
+            }
+        }
+        catch(EOFException e)
+        {
+            return end;
+        }
+    }
+
+    /**
+     * This function is a helper that decodes one record and hands it to replay.
+     * @param record - the operation and payload of the record
+     * @param replay - receives the record
+     * @throws IOException if the operation is unknown
+     */
+    private static void decode(ByteBuffer record, Replay replay) throws IOException
+    {
+        byte operation = record.get();
+        switch (operation)
+        {
+            case OPEN, REOPEN, CLOSE, DEPOSIT, WITHDRAW -> replay.apply(operation, decodeAccount(record));
+            case MONTH_END -> replay.apply(operation, null);
+            case BALANCES -> {
+                long[] balances = new long[record.getInt()];
+                record.asLongBuffer().get(balances);
+                replay.restoreBalances(balances);
+            }
+            default -> throw new IOException("Unknown journal operation: " + operation);
+        }
+    }
+
+    /**
+     * This function is a helper that creates the account a record was written from.
+     * @param record - positioned at the account
+     * @return Account with the holder, balance, campus and loyalty of the recorded one
+     */
+    private static Account decodeAccount(ByteBuffer record)
+    {
+        byte type = record.get();
+        byte college = record.get();
+        boolean loyal = record.get() != 0;
+        Date dob = Date.unpack(record.getInt());
+        long balance = record.getLong();
+        String fName = decodeName(record);
+        String lName = decodeName(record);
+        Account account = ColumnarAccountStore.newAccount(type, college == NO_COLLEGE ? null : College.values()[college], loyal);
+        account.setHolder(fName, lName, dob);
+        account.setBalanceCents(balance);
+        return account;
+    }
+
+    /**
+     * This function is a helper that reads a name written as an unsigned short length and UTF-8 bytes.
+     * @param record - positioned at the name
+     * @return String representing the name
+     */
+    private static String decodeName(ByteBuffer record)
+    {
+        int length = Short.toUnsignedInt(record.getShort());
+        String name = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return name;
+    }
+
+    /**
+     * This function appends a record of a change made with an account, before the change is applied.
+     * @param operation - one of OPEN, REOPEN, CLOSE, DEPOSIT or WITHDRAW
+     * @param account - the account passed to the database
+     * @throws UncheckedIOException if an earlier batch could not be written
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendAccount(byte operation, Account account)
+    {
+        if(operation < OPEN || operation > WITHDRAW)
+        {
+            throw new IllegalArgumentException("Not an account operation: " + operation);
+        }
+        byte type = ColumnarAccountStore.typeOf(account);
+        College college = type == ColumnarAccountStore.COLLEGE_CHECKING ? ((CollegeChecking) account).getCollege() : null;
+        boolean loyal = type == ColumnarAccountStore.SAVINGS && ((Savings) account).isLoyal();
+        byte[] fName = encodeName(account.holder.getFirstName());
+        byte[] lName = encodeName(account.holder.getLastName());
+        lock.lock();
+        try
+        {
+            int start = beginRecord(ACCOUNT_FIXED_BYTES + fName.length + lName.length, operation);
+            pending.put(type)
+                    .put(college == null ? NO_COLLEGE : (byte) college.ordinal())
+                    .put(loyal ? (byte) 1 : 0)
+                    .putInt(account.holder.getDob().pack())
+                    .putLong(account.getBalanceCents())
+                    .putShort((short) fName.length).put(fName)
+                    .putShort((short) lName.length).put(lName);
+            endRecord(start);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function appends a record of the month-end update of every account with its fee and interest.
+     * @throws UncheckedIOException if an earlier batch could not be written
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendMonthEnd()
+    {
+        lock.lock();
+        try
+        {
+            endRecord(beginRecord(0, MONTH_END));
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function appends a record of the balances of a columnar store being copied back to the accounts.
+     * @param store - store holding one balance per account, in the order the accounts were opened
+     * @throws UncheckedIOException if an earlier batch could not be written
+     * @throws IllegalStateException if the journal is closed
+     */
+    public void appendBalances(ColumnarAccountStore store)
+    {
+        int size = store.size();
+        lock.lock();
+        try
+        {
+            int start = beginRecord(Integer.BYTES + (long) size * Long.BYTES, BALANCES);
+            pending.putInt(size);
+            for(int row = 0; row < size; row++)
+            {
+                pending.putLong(store.getBalanceCents(row));
+            }
+            endRecord(start);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function is a helper that converts a name to UTF-8.
+     * @param name - the name
+     * @return byte array holding the name
+     */
+    private static byte[] encodeName(String name)
+    {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > MAX_NAME_BYTES)
+        {
+            throw new IllegalArgumentException("Name is too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * This function is a helper that makes room in the batch and writes the operation of a new record, waiting
+     * while the batch is full or the journal is rotating. Must be called holding the lock.
+     * @param payloadBytes - the size of the payload following the operation
+     * @param operation - the operation of the record
+     * @return int which is the offset of the record in the batch
+     */
+    private int beginRecord(long payloadBytes, byte operation)
+    {
+        checkOpen();
+        long recordBytes = RECORD_OVERHEAD + payloadBytes;
+        if(recordBytes > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("Journal record is too large: " + recordBytes + " bytes");
+        }
+        while(rotating || (pending.position() > 0 && pending.position() + recordBytes > MAX_PENDING_BYTES))
+        {
+            flushNeeded.signal();
+            flushed.awaitUninterruptibly();
+            checkOpen();
+        }
+        if(pending.remaining() < recordBytes)
+        {
+            int capacity = (int) Math.max(recordBytes + pending.position(), Math.min(2L * pending.capacity(), MAX_PENDING_BYTES));
+            pending = ByteBuffer.allocate(capacity).put(pending.flip());
+        }
+        int start = pending.position();
+        pending.putInt(0).put(operation);
+        return start;
+    }
+
+    /**
+     * This function is a helper that fills in the length and checksum of the record begun at start and wakes the
+     * flusher when the batch gets its first record or reaches the batch size. Must be called holding the lock.
+     * @param start - the offset returned by beginRecord
+     */
+    private void endRecord(int start)
+    {
+        int length = pending.position() - start - Integer.BYTES;
+        checksum.reset();
+        checksum.update(pending.slice(start + Integer.BYTES, length));
+        pending.putInt(start, length).putInt((int) checksum.getValue());
+        appended++;
+        pendingRecords++;
+        if(pendingRecords == 1 || pendingRecords == batchSize)
+        {
+            flushNeeded.signal();
+        }
+    }
+
+    /**
+     * This function is a helper that throws if no more records can be appended. Must be called holding the lock.
+     */
+    private void checkOpen()
+    {
+        if(failure != null)
+        {
+            throw new UncheckedIOException("Transaction journal could not be written", failure);
+        }
+        if(closing)
+        {
+            throw new IllegalStateException("Transaction journal is closed");
+        }
+    }
+
+    /**
+     * This function waits until every record appended so far has been forced to disk.
+     * @throws IOException if a batch could not be written
+     */
+    public void sync() throws IOException
+    {
+        lock.lock();
+        try
+        {
+            long target = appended;
+            if(target > requested)
+            {
+                requested = target;
+                flushNeeded.signal();
+            }
+            while(durable < target && failure == null)
+            {
+                flushed.await();
+            }
+            if(durable < target)
+            {
+                throw failure;
+            }
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the transaction journal");
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return - long which is the generation of the records being appended.
+     */
+    public long getGeneration()
+    {
+        lock.lock();
+        try
+        {
+            return generation;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function forces every record appended so far to disk, then empties the journal and starts the next
+     * generation. It is called once a snapshot covering the current generation has been written. Records appended
+     * from other threads meanwhile wait until the next generation has started, and the file is only emptied once
+     * the flusher has written everything before them, so no record is lost or given the wrong generation.
+     * @return long which is the new generation
+     * @throws IOException if the journal cannot be written
+     */
+    public long rotate() throws IOException
+    {
+        lock.lock();
+        try
+        {
+            while(rotating)
+            {
+                flushed.awaitUninterruptibly();
+            }
+            checkOpen();
+            rotating = true;
+            try
+            {
+                sync();
+                checkOpen();
+                try
+                {
+                    writeHeader(channel, generation + 1);
+                    channel.position(HEADER_BYTES);
+                }
+                catch(IOException e)
+                {
+                    failure = e;
+                    throw e;
+                }
+                generationStart = appended;
+                return ++generation;
+            }
+            finally
+            {
+                rotating = false;
+                flushed.signalAll();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return - long which is the number of records appended in the current generation.
+     */
+    public long getAppendedCount()
+    {
+        lock.lock();
+        try
+        {
+            return appended - generationStart;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * This function forces every record appended so far to disk, stops the flusher and closes the file.
+     * @throws IOException if a batch could not be written or the file could not be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        lock.lock();
+        try
+        {
+            if(closing)
+            {
+                return;
+            }
+            closing = true;
+            flushNeeded.signal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        boolean interrupted = false;
+        while(flusher.isAlive())
+        {
+            try
+            {
+                flusher.join();
+            }
+            catch(InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if(interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if(failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * This function is the body of the flusher thread. It waits for a batch to start, then until the batch is full,
+     * a sync is requested, the journal is closing or the flush interval has passed, and writes and forces the batch
+     * while appenders keep filling the other buffer.
+     */
+    private void flushBatches()
+    {
+        lock.lock();
+        try
+        {
+            while(true)
+            {
+                while(pendingRecords == 0 && !closing)
+                {
+                    flushNeeded.awaitUninterruptibly();
+                }
+                if(pendingRecords == 0)
+                {
+                    return;
+                }
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                long remaining = flushIntervalNanos;
+                while(pendingRecords < batchSize && requested <= durable && !closing && remaining > 0)
+                {
+                    try
+                    {
+                        flushNeeded.awaitNanos(remaining);
+                    }
+                    catch(InterruptedException e)
+                    {
+                        closing = true;
+                    }
+                    remaining = deadline - System.nanoTime();
+                }
+                ByteBuffer batch = pending;
+                pending = spare;
+                spare = batch;
+                long batchEnd = appended;
+                pendingRecords = 0;
+                lock.unlock();
+                IOException error = null;
+                try
+                {
+                    batch.flip();
+                    while(batch.hasRemaining())
+                    {
+                        channel.write(batch);
+                    }
+                    channel.force(false);
+                }
+                catch(IOException e)
+                {
+                    error = e;
+                }
+                finally
+                {
+                    batch.clear();
+                    lock.lock();
+                }
+                if(error != null)
+                {
+                    failure = error;
+                    flushed.signalAll();
+                    return;
+                }
+                durable = batchEnd;
+                flushed.signalAll();
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+}
@@ -3,6 +3,6 @@ module com.example.project3 {
     requires javafx.fxml;
 
 
-    opens edu.rutgers.sumanth.cs213 to javafx.fxml;
-    exports edu.rutgers.sumanth.cs213;
-}
\ No newline at end of file
+    opens javafxUI to javafx.fxml;
+    exports javafxUI;
+}
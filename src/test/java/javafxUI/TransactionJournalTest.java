@@ -0,0 +1,178 @@
+package javafxUI;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests replaying a TransactionJournal after a crash cut its last record short, and rotating it while other
+ * threads keep appending.
+ * @author Sumanth Rajkumar, Shantanu Jain
+ */
+class TransactionJournalTest {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 1;
+    private static final int BATCH_SIZE = 16;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Collects the records of a journal as it is replayed.
+     */
+    private static final class Recorded implements TransactionJournal.Replay
+    {
+        private final List<Byte> operations = new ArrayList<>();
+        private final List<Long> balances = new ArrayList<>();
+
+        @Override
+        public void apply(byte operation, Account account)
+        {
+            operations.add(operation);
+            balances.add(account == null ? 0 : account.getBalanceCents());
+        }
+
+        @Override
+        public void restoreBalances(long[] balances)
+        {
+            operations.add(TransactionJournal.BALANCES);
+        }
+    }
+
+    /**
+     * This function is a helper that creates the account a record is written from.
+     * @param balanceCents - the balance carried by the record
+     * @return a Checking account with its holder and balance set
+     */
+    private static Account account(long balanceCents)
+    {
+        Account account = new Checking();
+        account.setHolder("Jane", "Doe", Date.parse("1990-1-31"));
+        account.setBalanceCents(balanceCents);
+        return account;
+    }
+
+    /**
+     * This function is a helper that replays a journal and closes it again.
+     * @param file - the journal file
+     * @return the records replayed
+     * @throws IOException if the journal cannot be read
+     */
+    private static Recorded replay(Path file) throws IOException
+    {
+        Recorded recorded = new Recorded();
+        TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, recorded).close();
+        return recorded;
+    }
+
+    @Test
+    void replayStopsBeforeATornRecordAndAppendingResumesAfterTheLastWholeOne() throws IOException
+    {
+        Path file = directory.resolve("journal.bin");
+        try(TransactionJournal journal = TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, new Recorded()))
+        {
+            journal.appendAccount(TransactionJournal.OPEN, account(10000));
+            journal.appendAccount(TransactionJournal.DEPOSIT, account(2500));
+            journal.sync();
+        }
+        long whole = Files.size(file);
+        try(TransactionJournal journal = TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, new Recorded()))
+        {
+            journal.appendAccount(TransactionJournal.WITHDRAW, account(700));
+        }
+        long withTorn = Files.size(file);
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.truncate(whole + (withTorn - whole) / 2);
+        }
+
+        Recorded recorded = replay(file);
+        assertEquals(List.of(TransactionJournal.OPEN, TransactionJournal.DEPOSIT), recorded.operations);
+        assertEquals(List.of(10000L, 2500L), recorded.balances);
+        assertEquals(whole, Files.size(file));
+
+        try(TransactionJournal journal = TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, new Recorded()))
+        {
+            journal.appendAccount(TransactionJournal.CLOSE, account(0));
+        }
+        assertEquals(List.of(TransactionJournal.OPEN, TransactionJournal.DEPOSIT, TransactionJournal.CLOSE),
+                replay(file).operations);
+    }
+
+    @Test
+    void replayStopsAtARecordWhoseChecksumDoesNotMatch() throws IOException
+    {
+        Path file = directory.resolve("journal.bin");
+        long first;
+        try(TransactionJournal journal = TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, new Recorded()))
+        {
+            journal.appendAccount(TransactionJournal.OPEN, account(10000));
+            journal.sync();
+            first = Files.size(file);
+            journal.appendAccount(TransactionJournal.DEPOSIT, account(2500));
+        }
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            ByteBuffer balance = ByteBuffer.allocate(1);
+            //the first byte of the balance, after the length, operation, type, college, loyalty and date of birth
+            long position = first + Integer.BYTES + 4 * Byte.BYTES + Integer.BYTES;
+            channel.read(balance, position);
+            balance.put(0, (byte) (balance.get(0) ^ 1));
+            channel.write(balance.rewind(), position);
+        }
+
+        assertEquals(List.of(TransactionJournal.OPEN), replay(file).operations);
+        assertEquals(first, Files.size(file));
+    }
+
+    @Test
+    void rotatingWhileOthersAppendKeepsEveryRecordInItsGeneration() throws Exception
+    {
+        Path file = directory.resolve("journal.bin");
+        int appenders = 4;
+        int recordsEach = 2000;
+        long generation;
+        long appendedSinceRotation;
+        try(TransactionJournal journal = TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, new Recorded()))
+        {
+            List<Thread> threads = new ArrayList<>();
+            for(int t = 0; t < appenders; t++)
+            {
+                Thread thread = new Thread(() -> {
+                    for(int i = 0; i < recordsEach; i++)
+                    {
+                        journal.appendAccount(TransactionJournal.DEPOSIT, account(1));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            while(threads.stream().anyMatch(Thread::isAlive))
+            {
+                journal.rotate();
+                Thread.yield();
+            }
+            for(Thread thread : threads)
+            {
+                thread.join();
+            }
+            journal.sync();
+            generation = journal.getGeneration();
+            appendedSinceRotation = journal.getAppendedCount();
+        }
+
+        Recorded recorded = new Recorded();
+        TransactionJournal.open(file, FLUSH_INTERVAL_MILLIS, BATCH_SIZE, generation - 1, recorded).close();
+        assertEquals(appendedSinceRotation, recorded.operations.size());
+    }
+}